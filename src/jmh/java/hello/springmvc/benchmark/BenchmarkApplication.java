@@ -0,0 +1,58 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.SpringmvcApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.servlet.ServletException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크에서 실제 애플리케이션 설정 그대로 스프링 컨텍스트를 띄운다.
+ * - server.port=-1 : 내장 톰캣은 만들지만 포트는 열지 않는다 (WebApplicationContext 는 그대로 생성된다)
+ * - 컨트롤러의 info 로그가 측정값을 덮어버리지 않도록 로그 레벨을 warn 으로 올린다
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] DEFAULT_ARGS = {
+            "--server.port=-1",
+            "--logging.level.root=warn",
+            "--logging.level.hello.springmvc=warn"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    public static WebApplicationContext start(String... args) {
+        List<String> allArgs = new ArrayList<>(Arrays.asList(DEFAULT_ARGS));
+        allArgs.addAll(Arrays.asList(args));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringmvcApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(allArgs.toArray(new String[0]));
+        return (WebApplicationContext) context;
+    }
+
+    public static void close(WebApplicationContext context) {
+        if (context != null) {
+            ((ConfigurableApplicationContext) context).close();
+        }
+    }
+
+    /**
+     * MockMvc 를 거치지 않고 직접 호출할 DispatcherServlet 을 만든다.
+     * 이미 refresh 된 컨텍스트를 사용하므로 init 시점에는 HandlerMapping, HandlerAdapter 등만 초기화된다.
+     */
+    public static DispatcherServlet dispatcherServlet(WebApplicationContext context) throws ServletException {
+        DispatcherServlet dispatcherServlet = new DispatcherServlet(context);
+        dispatcherServlet.init(new MockServletConfig(context.getServletContext(), "benchmarkDispatcherServlet"));
+        return dispatcherServlet;
+    }
+}
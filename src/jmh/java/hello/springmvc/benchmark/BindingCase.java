@@ -0,0 +1,69 @@
+package hello.springmvc.benchmark;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * basic.request 의 컨트롤러가 제공하는 요청 바인딩 방식 목록
+ * 같은 데이터(username=hello, age=20)를 방식만 바꿔서 보낸다.
+ */
+public enum BindingCase {
+
+    // 요청 파라미터 : RequestParamController
+    REQUEST_PARAM_V1(HttpMethod.GET, "/request-param-v1?username=hello&age=20"),       // request.getParameter()
+    REQUEST_PARAM_V2(HttpMethod.GET, "/request-param-v2?username=hello&age=20"),       // @RequestParam("username")
+    REQUEST_PARAM_V3(HttpMethod.GET, "/request-param-v3?username=hello&age=20"),       // @RequestParam
+    REQUEST_PARAM_V4(HttpMethod.GET, "/request-param-v4?username=hello&age=20"),       // @RequestParam 생략
+    REQUEST_PARAM_MAP(HttpMethod.GET, "/request-param-map?username=hello&age=20"),     // @RequestParam Map
+    MODEL_ATTRIBUTE_V1(HttpMethod.GET, "/model-attribute-v1?username=hello&age=20"),   // @ModelAttribute
+    MODEL_ATTRIBUTE_V2(HttpMethod.GET, "/model-attribute-v2?username=hello&age=20"),   // @ModelAttribute 생략
+    MODEL_ATTRIBUTE_FAST(HttpMethod.GET, "/model-attribute-fast?username=hello&age=20"), // @FastBind
+
+    // 메시지 바디 - 단순 텍스트 : RequestBodyStringController
+    REQUEST_BODY_STRING_V1(HttpMethod.POST, "/request-body-string-v1", MediaType.TEXT_PLAIN, "hello"), // HttpServletRequest
+    REQUEST_BODY_STRING_V2(HttpMethod.POST, "/request-body-string-v2", MediaType.TEXT_PLAIN, "hello"), // InputStream, Writer
+    REQUEST_BODY_STRING_V3(HttpMethod.POST, "/request-body-string-v3", MediaType.TEXT_PLAIN, "hello"), // HttpEntity<String>
+    REQUEST_BODY_STRING_V4(HttpMethod.POST, "/request-body-string-v4", MediaType.TEXT_PLAIN, "hello"), // @RequestBody String
+
+    // 메시지 바디 - JSON : RequestBodyJsonController
+    REQUEST_BODY_JSON_V1(HttpMethod.POST, "/request-body-json-v1", MediaType.APPLICATION_JSON, Json.HELLO), // HttpServletRequest + ObjectReader
+    REQUEST_BODY_JSON_V2(HttpMethod.POST, "/request-body-json-v2", MediaType.APPLICATION_JSON, Json.HELLO), // @RequestBody String + ObjectReader
+    REQUEST_BODY_JSON_V3(HttpMethod.POST, "/request-body-json-v3", MediaType.APPLICATION_JSON, Json.HELLO), // @RequestBody HelloData
+    REQUEST_BODY_JSON_V4(HttpMethod.POST, "/request-body-json-v4", MediaType.APPLICATION_JSON, Json.HELLO), // HttpEntity<HelloData>
+    REQUEST_BODY_JSON_V5(HttpMethod.POST, "/request-body-json-v5", MediaType.APPLICATION_JSON, Json.HELLO); // @RequestBody + 객체 응답
+
+    private final HttpMethod method;
+    private final String uri;
+    private final MediaType contentType;
+    private final byte[] body;
+
+    BindingCase(HttpMethod method, String uri) {
+        this(method, uri, null, null);
+    }
+
+    BindingCase(HttpMethod method, String uri, MediaType contentType, String body) {
+        this.method = method;
+        this.uri = uri;
+        this.contentType = contentType;
+        this.body = body == null ? null : body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 요청 메시지 바디는 한 번 읽으면 끝이므로 호출할 때마다 새 요청을 만든다.
+     */
+    public MockHttpServletRequestBuilder request() {
+        MockHttpServletRequestBuilder builder = MockMvcRequestBuilders.request(method, uri);
+        if (body != null) {
+            builder.contentType(contentType).content(body);
+        }
+        return builder;
+    }
+
+    private static class Json {
+        private static final String HELLO = "{\"username\":\"hello\", \"age\":20}";
+    }
+}
@@ -0,0 +1,63 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.buffer.HeapBufferPool;
+import hello.springmvc.basic.buffer.PooledBodyReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 바디 -> String : StreamUtils.copyToString vs PooledBodyReader (HeapBufferPool)
+ * gc.alloc.rate.norm (요청 1건당 할당 바이트) 차이를 보자. pooled 는 결과 String 만 남는다.
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=BodyReadBenchmark
+ * 실제 서버에서 GC 횟수/멈춤 비교 (hello.buffer.pooled-converters=true/false 로 각각 실행)
+ *   java -Xlog:gc:file=gc.log -jar springmvc.jar --spring.profiles.active=loadtest
+ *   ./gradlew loadTest -PloadTestArgs="--url=http://localhost:8080/request-body-string-v4 --body=hello --content-type=text/plain --concurrency=200 --duration=60"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyReadBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    public int bodySize;
+
+    private byte[] body;
+    private PooledBodyReader bodyReader;
+
+    @Setup
+    public void setUp() {
+        body = new byte[bodySize];
+        Arrays.fill(body, (byte) 'a');
+        bodyReader = new PooledBodyReader(new HeapBufferPool(new int[]{1024, 4096, 16384, 65536}, 64, false));
+    }
+
+    @Benchmark
+    public String copyToString() throws IOException {
+        return StreamUtils.copyToString(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String pooled() throws IOException {
+        return bodyReader.readString(new ByteArrayInputStream(body), body.length, StandardCharsets.UTF_8);
+    }
+}
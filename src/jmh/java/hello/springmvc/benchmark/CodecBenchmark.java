@@ -0,0 +1,118 @@
+package hello.springmvc.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HelloData 직렬화 포맷 비교 : JSON vs Smile vs CBOR vs MessagePack
+ * - encode / decode : (역)직렬화 시간
+ * - 크기 : setUp 에서 포맷별 바이트 수를 출력한다 (main() 으로 크기만 따로 볼 수도 있다)
+ * - records : 1 = HelloData 하나 (/response-body-json-v2), 100 = HelloData 100개 목록
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=CodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"json", "smile", "cbor", "msgpack"})
+    public String format;
+
+    @Param({"1", "100"})
+    public int records;
+
+    private ObjectMapper objectMapper;
+    private JavaType type;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper(format);
+        if (records == 1) {
+            type = objectMapper.constructType(HelloData.class);
+            value = helloData(0);
+        } else {
+            type = objectMapper.getTypeFactory().constructCollectionType(List.class, HelloData.class);
+            value = helloDataList(records);
+        }
+        encoded = objectMapper.writerFor(type).writeValueAsBytes(value);
+        System.out.printf("%n[%s] records=%d, bytes=%d%n", format, records, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writerFor(type).writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return objectMapper.readerFor(type).readValue(encoded);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-8s %10s %10s%n", "format", "1 record", "100 records");
+        for (String format : new String[]{"json", "smile", "cbor", "msgpack"}) {
+            ObjectMapper objectMapper = objectMapper(format);
+            int single = objectMapper.writeValueAsBytes(helloData(0)).length;
+            int list = objectMapper.writeValueAsBytes(helloDataList(100)).length;
+            System.out.printf("%-8s %10d %10d%n", format, single, list);
+        }
+    }
+
+    /**
+     * 애플리케이션(BinaryCodecConfig)과 같은 방식으로 만든다
+     */
+    private static ObjectMapper objectMapper(String format) {
+        switch (format) {
+            case "json":
+                return Jackson2ObjectMapperBuilder.json().build();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor().build();
+            case "msgpack":
+                return new Jackson2ObjectMapperBuilder().factory(new MessagePackFactory()).build();
+            default:
+                throw new IllegalArgumentException("format=" + format);
+        }
+    }
+
+    private static HelloData helloData(int i) {
+        HelloData helloData = new HelloData();
+        helloData.setUsername("user" + i);
+        helloData.setAge(20 + i % 50);
+        return helloData;
+    }
+
+    private static List<HelloData> helloDataList(int count) {
+        List<HelloData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(helloData(i));
+        }
+        return list;
+    }
+}
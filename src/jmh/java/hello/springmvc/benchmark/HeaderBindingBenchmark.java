@@ -0,0 +1,83 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 헤더 조회 방식 비교 (브라우저가 보내는 정도의 헤더 12개)
+ * - /headers      : HttpMethod, Locale, @RequestHeader MultiValueMap, @RequestHeader("host"), @CookieValue
+ * - /headers-lazy : LazyHeaders 로 host, myCookie 만 조회
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=HeaderBindingBenchmark
+ * gc.alloc.rate.norm 으로 요청 1건당 할당 바이트도 같이 비교하자. (Mock 요청 생성 비용은 양쪽에 똑같이 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderBindingBenchmark {
+
+    @Param({"/headers", "/headers-lazy"})
+    public String uri;
+
+    private WebApplicationContext context;
+    private DispatcherServlet dispatcherServlet;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        dispatcherServlet = BenchmarkApplication.dispatcherServlet(context);
+
+        int status = headers();
+        if (status != 200) {
+            throw new IllegalStateException(uri + " status=" + status);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkApplication.close(context);
+    }
+
+    @Benchmark
+    public int headers() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        dispatcherServlet.service(request(), response);
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest(context.getServletContext(), "GET", uri);
+        request.addHeader("Host", "localhost:8080");
+        request.addHeader("Connection", "keep-alive");
+        request.addHeader("Cache-Control", "max-age=0");
+        request.addHeader("Upgrade-Insecure-Requests", "1");
+        request.addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/96.0 Safari/537.36");
+        request.addHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8");
+        request.addHeader("Sec-Fetch-Site", "none");
+        request.addHeader("Sec-Fetch-Mode", "navigate");
+        request.addHeader("Sec-Fetch-Dest", "document");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        request.addHeader("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7");
+        request.addHeader("Cookie", "myCookie=hello; JSESSIONID=7A4C0B6F2D9E1F3A5B8C0D2E4F6A8B0C");
+        return request;
+    }
+}
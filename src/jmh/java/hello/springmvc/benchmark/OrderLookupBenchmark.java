@@ -0,0 +1,116 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.requestmapping.order.LongObjectOpenHashMap;
+import hello.springmvc.basic.requestmapping.order.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문번호(long) -> 주문 조회 비교
+ * - primitive : LongObjectOpenHashMap (OrderRepository 가 회원별로 사용하는 맵)
+ * - boxed     : HashMap<Long, Order>
+ * SampleTime 모드라 결과에 p50 / p99 / p99.99 가 함께 나온다.
+ * 주문번호는 OrderRepository 처럼 1부터 연속으로 증가한다.
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=OrderLookupBenchmark
+ * 메모리 : main() 실행 시 주문 100만 건 인덱스의 힙 사용량을 출력한다. (주문 객체 자체는 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderLookupBenchmark {
+
+    private static final int LOOKUP_BATCH = 1024;
+
+    @Param({"10000", "1000000"})
+    public int orders;
+
+    private LongObjectOpenHashMap<Order> primitive;
+    private Map<Long, Order> boxed;
+    private long[] lookupKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        primitive = new LongObjectOpenHashMap<>();
+        boxed = new HashMap<>();
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            Order order = new Order(orderId, "userA", "item", 1000, 1);
+            primitive.put(orderId, order);
+            boxed.put(orderId, order);
+        }
+
+        // 캐시에 올라간 몇 개만 조회하지 않도록 임의의 주문번호를 미리 뽑아둔다
+        lookupKeys = new long[LOOKUP_BATCH];
+        for (int i = 0; i < LOOKUP_BATCH; i++) {
+            lookupKeys[i] = ThreadLocalRandom.current().nextLong(1, orders + 1);
+        }
+    }
+
+    @Benchmark
+    public Order primitive() {
+        return primitive.get(lookupKeys[next++ & (LOOKUP_BATCH - 1)]);
+    }
+
+    @Benchmark
+    public Order boxed() {
+        return boxed.get(lookupKeys[next++ & (LOOKUP_BATCH - 1)]);
+    }
+
+    /**
+     * 주문 100만 건 인덱스의 힙 사용량 (대략치)
+     * 주문 객체는 양쪽이 공유하므로 빼고, 인덱스 구조 자체의 크기만 비교한다.
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Order[] orders = new Order[count];
+        for (int i = 0; i < count; i++) {
+            orders[i] = new Order(i + 1, "userA", "item", 1000, 1);
+        }
+
+        long before = usedHeap();
+        LongObjectOpenHashMap<Order> primitive = new LongObjectOpenHashMap<>();
+        for (Order order : orders) {
+            primitive.put(order.getOrderId(), order);
+        }
+        long primitiveBytes = usedHeap() - before;
+
+        before = usedHeap();
+        Map<Long, Order> boxed = new HashMap<>();
+        for (Order order : orders) {
+            boxed.put(order.getOrderId(), order);
+        }
+        long boxedBytes = usedHeap() - before;
+
+        System.out.printf("orders=%,d%n", count);
+        System.out.printf("primitive : %,d bytes (%.1f bytes/order, %s)%n",
+                primitiveBytes, (double) primitiveBytes / count, primitive);
+        System.out.printf("boxed     : %,d bytes (%.1f bytes/order, size=%d)%n",
+                boxedBytes, (double) boxedBytes / count, boxed.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,64 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.request.bind.PrecompiledBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.ServletRequestDataBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HelloData 바인딩만 따로 비교 (스프링 MVC 호출 비용 제외)
+ * - webDataBinder     : @ModelAttribute 가 내부에서 하는 일 (ServletRequestDataBinder + ConversionService)
+ * - precompiledBinder : @FastBind 가 내부에서 하는 일 (MethodHandle 로 setter 직접 호출)
+ * 요청 전체 비교는 RequestBindingBenchmark 의 MODEL_ATTRIBUTE_V1 / MODEL_ATTRIBUTE_FAST 를 보자.
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=ParameterBinderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterBinderBenchmark {
+
+    private MockHttpServletRequest request;
+    private DefaultConversionService conversionService;
+    private PrecompiledBinder<HelloData> precompiledBinder;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/model-attribute-v1");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+
+        conversionService = new DefaultConversionService();
+        precompiledBinder = new PrecompiledBinder<>(HelloData.class);
+    }
+
+    @Benchmark
+    public HelloData webDataBinder() {
+        HelloData helloData = new HelloData();
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(helloData, "helloData");
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return helloData;
+    }
+
+    @Benchmark
+    public HelloData precompiledBinder() throws Exception {
+        return precompiledBinder.bind(request);
+    }
+}
@@ -0,0 +1,117 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.ratelimit.RateLimitInterceptor;
+import hello.springmvc.ratelimit.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitInterceptor 자체 비용 (preHandle + afterCompletion 한 번)
+ * 한도는 넉넉하게 잡아서 거절 없이 항상 통과하는 경로만 잰다. 목표 : 요청당 1 마이크로초(1000ns) 미만
+ * - route       : 경로 버킷 + 클라이언트 버킷 + 동시 처리 한도
+ * - unlimited   : 경로 설정이 없는 요청 (동시 처리 한도만)
+ * 동시 처리 한도(경로 패턴별)는 기본값이 꺼져 있으므로 켜고 잰다.
+ * - contended   : route 를 8 스레드가 동시에 호출 (같은 버킷, 같은 카운터에 CAS 경합)
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=RateLimitBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final String ROUTE = "/mapping/users/{userId}";
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        RateLimitInterceptor interceptor;
+        HandlerMethod handler;
+
+        @Setup
+        public void setUp() throws Exception {
+            RateLimitProperties.Route route = new RateLimitProperties.Route();
+            route.setRate(1_000_000_000);
+            route.setBurst(1_000_000);
+            route.setClientRate(1_000_000_000);
+            route.setClientBurst(1_000_000);
+
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.getRoutes().put(ROUTE, route);
+            properties.getConcurrency().setEnabled(true);
+            properties.getConcurrency().setMaxLimit(10_000);
+            properties.getConcurrency().setInitialLimit(10_000);
+
+            interceptor = new RateLimitInterceptor(properties);
+            handler = new HandlerMethod(new Handler(), Handler.class.getMethod("handle"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        MockHttpServletRequest routed;
+        MockHttpServletRequest unlimited;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            // 스레드마다 다른 클라이언트 (클라이언트 버킷은 스레드끼리 경합하지 않고, 경로 버킷은 경합한다)
+            String client = "10.0." + ThreadLocalRandom.current().nextInt(256) + "." + ThreadLocalRandom.current().nextInt(256);
+
+            routed = new MockHttpServletRequest("GET", "/mapping/users/userA");
+            routed.setRemoteAddr(client);
+            routed.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+
+            unlimited = new MockHttpServletRequest("GET", "/hello-basic");
+            unlimited.setRemoteAddr(client);
+            unlimited.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/hello-basic");
+
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public boolean route(Limiter limiter, Requests requests) {
+        return invoke(limiter, requests.routed, requests.response);
+    }
+
+    @Benchmark
+    public boolean unlimited(Limiter limiter, Requests requests) {
+        return invoke(limiter, requests.unlimited, requests.response);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean contended(Limiter limiter, Requests requests) {
+        return invoke(limiter, requests.routed, requests.response);
+    }
+
+    private static boolean invoke(Limiter limiter, MockHttpServletRequest request, MockHttpServletResponse response) {
+        boolean allowed = limiter.interceptor.preHandle(request, response, limiter.handler);
+        limiter.interceptor.afterCompletion(request, response, limiter.handler, null);
+        return allowed;
+    }
+
+    public static class Handler {
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.servlet.ServletContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 바인딩 방식별 비용 비교 (@RequestParam vs Map vs @ModelAttribute, HttpEntity vs @RequestBody vs InputStream ...)
+ *
+ * - mockMvc           : MockMvc 를 통해서 호출 (테스트에서 쓰는 방식, 결과 검증용 래핑 비용 포함)
+ * - dispatcherServlet : DispatcherServlet.service() 를 직접 호출 (필터 체인 없이 스프링 MVC 비용만 측정)
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=RequestBindingBenchmark
+ * -prof gc 가 적용되어 있으므로 gc.alloc.rate.norm 값으로 요청 1건당 할당 바이트를 비교할 수 있다.
+ * 두 방식 모두 Mock 요청/응답 객체 생성 비용이 포함되어 있으므로 절대값보다 방식 간 차이를 보자.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBindingBenchmark {
+
+    @Param
+    public BindingCase binding;
+
+    private WebApplicationContext context;
+    private ServletContext servletContext;
+    private MockMvc mockMvc;
+    private DispatcherServlet dispatcherServlet;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        servletContext = context.getServletContext();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        dispatcherServlet = BenchmarkApplication.dispatcherServlet(context);
+
+        // 잘못된 요청을 측정하지 않도록 시작 전에 한 번 확인한다
+        int status = dispatcherServlet();
+        if (status != 200) {
+            throw new IllegalStateException(binding + " status=" + status);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkApplication.close(context);
+    }
+
+    @Benchmark
+    public int mockMvc() throws Exception {
+        return mockMvc.perform(binding.request()).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int dispatcherServlet() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        dispatcherServlet.service(binding.request().buildRequest(servletContext), response);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,108 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.requestmapping.RouteCachingHandlerMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록된 매핑 수에 따른 핸들러 조회 시간 비교 (캐시 적용 / 미적용)
+ * - 매핑 : /bench/{i}/users/{userId}/orders/{orderId} 를 mappings 개 등록
+ *         /bench/users/{userId} 는 GET, PATCH, DELETE 3개 (MappingClassController 처럼 같은 경로에 메서드만 다른 매핑)
+ * - 요청 : 16개 경로를 돌아가면서 조회 (자주 호출되는 GET 경로), 절반은 /bench/users/{userId}
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=RouteLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteLookupBenchmark {
+
+    private static final int HOT_PATHS = 16;
+
+    @Param({"10", "1000", "5000"})
+    public int mappings;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private RequestMappingHandlerMapping handlerMapping;
+    private MockHttpServletRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.refresh();
+
+        handlerMapping = cached ? new RouteCachingHandlerMapping(10_000) : new RequestMappingHandlerMapping();
+        handlerMapping.setPatternParser(new PathPatternParser());
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.afterPropertiesSet();
+
+        Handler handler = new Handler();
+        Method method = Handler.class.getMethod("handle");
+        for (int i = 0; i < mappings; i++) {
+            RequestMappingInfo info = RequestMappingInfo.paths("/bench/" + i + "/users/{userId}/orders/{orderId}")
+                    .methods(RequestMethod.GET)
+                    .options(handlerMapping.getBuilderConfiguration())
+                    .build();
+            handlerMapping.registerMapping(info, handler, method);
+        }
+
+        for (RequestMethod requestMethod : new RequestMethod[]{RequestMethod.GET, RequestMethod.PATCH, RequestMethod.DELETE}) {
+            RequestMappingInfo info = RequestMappingInfo.paths("/bench/users/{userId}")
+                    .methods(requestMethod)
+                    .options(handlerMapping.getBuilderConfiguration())
+                    .build();
+            handlerMapping.registerMapping(info, handler, method);
+        }
+
+        requests = new MockHttpServletRequest[HOT_PATHS];
+        for (int i = 0; i < HOT_PATHS; i++) {
+            if (i % 2 == 0) {
+                int target = (int) ((long) i * mappings / HOT_PATHS);
+                requests[i] = new MockHttpServletRequest("GET", "/bench/" + target + "/users/userA/orders/" + i);
+            } else {
+                requests[i] = new MockHttpServletRequest("GET", "/bench/users/user" + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public HandlerExecutionChain lookup() throws Exception {
+        MockHttpServletRequest request = requests[next++ & (HOT_PATHS - 1)];
+        ServletRequestPathUtils.parseAndCache(request); // DispatcherServlet 이 요청마다 하는 일
+        return handlerMapping.getHandler(request);
+    }
+
+    public static class Handler {
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.benchmark.load.LoadOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시간 측정 : 프로세스 시작 -> 첫 요청 200 응답까지 걸린 시간 (time-to-first-request)
+ * 애플리케이션을 새 JVM 으로 runs 번씩 띄웠다 내리면서 아래 조합을 비교한다.
+ * - default          : 기본 설정
+ * - fast-startup     : lazy-initialization 등 (application-fast-startup.properties)
+ * - fast-startup+cds : 위 + CDS 아카이브 (--cds-archive 파일이 있을 때만)
+ *
+ * 실행 : ./gradlew measureStartup (CDS 까지 비교하려면 먼저 ./gradlew cdsArchive)
+ */
+public class StartupTimer {
+
+    private static final String MAIN_CLASS = "hello.springmvc.SpringmvcApplication";
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        String classpath = options.get("classpath", null);
+        if (classpath == null) {
+            throw new IllegalArgumentException("--classpath 가 필요합니다.");
+        }
+        int runs = options.getInt("runs", 5);
+        int port = options.getInt("port", 18080);
+        String path = options.get("path", "/hello-basic");
+        String cdsArchive = options.get("cds-archive", null);
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("default", List.of(), List.of()));
+        variants.add(new Variant("fast-startup", List.of(), List.of("--spring.profiles.active=fast-startup")));
+        if (cdsArchive != null && new File(cdsArchive).isFile()) {
+            variants.add(new Variant("fast-startup+cds", List.of("-XX:SharedArchiveFile=" + cdsArchive, "-Xshare:auto"),
+                    List.of("--spring.profiles.active=fast-startup")));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+
+        List<String> summary = new ArrayList<>();
+        for (Variant variant : variants) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(variant, classpath, port, client, request);
+                System.out.printf("%-18s run %d : %,d ms%n", variant.name, i + 1, millis[i]);
+            }
+            Arrays.sort(millis);
+            summary.add(String.format("%-18s min=%,d ms, median=%,d ms, max=%,d ms",
+                    variant.name, millis[0], millis[runs / 2], millis[runs - 1]));
+        }
+
+        System.out.println();
+        System.out.println("===== time-to-first-request (" + path + ") =====");
+        summary.forEach(System.out::println);
+    }
+
+    private static long timeToFirstRequest(Variant variant, String classpath, int port,
+                                           HttpClient client, HttpRequest request) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(variant.jvmArgs);
+        command.addAll(List.of("-cp", classpath, MAIN_CLASS, "--server.port=" + port));
+        command.addAll(variant.appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT_NANOS) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name + " 프로세스가 종료되었습니다. exitValue=" + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(variant.name + " 60초 안에 응답하지 않았습니다.");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static class Variant {
+        private final String name;
+        private final List<String> jvmArgs;
+        private final List<String> appArgs;
+
+        private Variant(String name, List<String> jvmArgs, List<String> appArgs) {
+            this.name = name;
+            this.jvmArgs = jvmArgs;
+            this.appArgs = appArgs;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package hello.springmvc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import hello.springmvc.basic.response.stream.HelloDataStreamProperties;
+import hello.springmvc.basic.response.stream.HelloDataStreamer;
+import hello.springmvc.basic.response.stream.SlowConsumerException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HelloDataStreamer.writeNdjson 으로 레코드 수백만 개를 흘려보내는 동안 힙 사용량이 늘지 않는지 확인한다.
+ * 1. 스트리밍 : 레코드 probe 간격마다 GC 후 힙 사용량을 찍는다. 처음과 끝이 거의 같아야 한다
+ * 2. 비교 : 같은 수의 HelloData 를 List 로 모았을 때의 힙 사용량 (ResponseBodyController 처럼 다 만든 뒤 반환하는 방식)
+ * 3. 느린 클라이언트 : flush 마다 오래 막히는 출력 스트림이면 SlowConsumerException 으로 끊기는지
+ *
+ * 실행 : ./gradlew streamMemoryProbe -PloadTestArgs="5000000"
+ */
+public class StreamMemoryProbe {
+
+    public static void main(String[] args) throws IOException {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 5_000_000;
+        long probeEvery = Math.max(1, count / 10);
+
+        HelloDataStreamProperties properties = new HelloDataStreamProperties();
+        properties.setMaxRecords(Long.MAX_VALUE);
+        HelloDataStreamer streamer = new HelloDataStreamer(properties,
+                new JsonCodecRegistry(new ObjectMapper()), new SimpleAsyncTaskExecutor());
+
+        long before = usedHeap();
+        ProbingOutputStream out = new ProbingOutputStream(probeEvery);
+        long start = System.nanoTime();
+        streamer.writeNdjson(out, count);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("streamed records=%,d, bytes=%,d, %,d ms (heap 측정 GC 포함)%n", out.records, out.bytes, elapsedMs);
+        System.out.printf("heap before=%,d bytes%n", before);
+        for (int i = 0; i < out.samples.size(); i++) {
+            System.out.printf("  after %,12d records : %,d bytes%n", (i + 1) * probeEvery, out.samples.get(i));
+        }
+        long max = out.samples.stream().mapToLong(Long::longValue).max().orElse(before);
+        System.out.printf("streaming max growth : %,d bytes%n", max - before);
+
+        int listCount = (int) Math.min(count, 1_000_000);
+        before = usedHeap();
+        List<HelloData> list = new ArrayList<>();
+        for (int i = 0; i < listCount; i++) {
+            HelloData helloData = new HelloData();
+            helloData.setUsername("user" + i);
+            helloData.setAge(i % 100);
+            list.add(helloData);
+        }
+        System.out.printf("List<HelloData> %,d records : %,d bytes%n", list.size(), usedHeap() - before);
+
+        properties.setSlowConsumerMs(20);
+        properties.setFlushRecords(100);
+        try {
+            streamer.writeNdjson(new SlowOutputStream(50), 1_000);
+            System.out.println("slow consumer : not detected");
+        } catch (SlowConsumerException e) {
+            System.out.println("slow consumer : " + e.getMessage());
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 쓴 내용은 버리고, 줄 수(레코드 수)를 세다가 probeEvery 개마다 힙 사용량을 기록한다
+     */
+    private static class ProbingOutputStream extends OutputStream {
+        private final long probeEvery;
+        private final List<Long> samples = new ArrayList<>();
+        private long records;
+        private long bytes;
+
+        ProbingOutputStream(long probeEvery) {
+            this.probeEvery = probeEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n' && ++records % probeEvery == 0) {
+                    samples.add(usedHeap());
+                }
+            }
+        }
+    }
+
+    /**
+     * flush 할 때마다 delayMs 만큼 막히는 출력 스트림 (읽기가 느린 클라이언트)
+     */
+    private static class SlowOutputStream extends OutputStream {
+        private final long delayMs;
+
+        SlowOutputStream(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
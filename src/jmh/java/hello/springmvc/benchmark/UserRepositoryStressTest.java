@@ -0,0 +1,104 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.requestmapping.user.User;
+import hello.springmvc.basic.requestmapping.user.UserRepository;
+import hello.springmvc.benchmark.load.LoadOptions;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UserRepository 동시성 부하 테스트
+ * 스레드 수를 1 ~ 64 로 늘려가며 GET/목록/스냅샷/POST/PATCH/DELETE 를 섞어 실행하고 초당 처리량을 출력한다.
+ * 각 단계가 끝나면 store 와 정렬 인덱스의 크기가 같은지 확인한다.
+ *
+ * 비율(%) : 조회 70, 목록 4.9, 스냅샷 0.1, 등록 10, 수정 10, 삭제 5
+ * 스냅샷은 전체를 복사하므로 (users / 2 건 안팎) 1000 번에 1 번만 섞는다.
+ * 실행 : ./gradlew userRepositoryStressTest -PloadTestArgs="--duration=5 --users=100000"
+ */
+public class UserRepositoryStressTest {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    // 정렬이 깨진 스냅샷 수 (작업 스레드에서 예외를 던지면 main 이 알 수 없으므로 세어서 단계마다 확인한다)
+    private static final LongAdder unsortedSnapshots = new LongAdder();
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        int durationSeconds = options.getInt("duration", 5);
+        int users = options.getInt("users", 100_000);
+
+        System.out.printf("%8s %15s %12s %12s%n", "threads", "ops/s", "size", "indexSize");
+        for (int threads : THREADS) {
+            UserRepository repository = new UserRepository();
+            for (int i = 0; i < users / 2; i++) {
+                repository.save(new User(userId(i), "user" + i, i % 100));
+            }
+            run(repository, threads, users, 1); // 워밍업
+            long ops = run(repository, threads, users, durationSeconds);
+            System.out.printf("%8d %,15d %,12d %,12d%n", threads, ops / durationSeconds,
+                    repository.size(), repository.indexSize());
+            if (repository.size() != repository.indexSize()) {
+                throw new IllegalStateException("store 와 index 크기가 다릅니다. size=" + repository.size()
+                        + ", indexSize=" + repository.indexSize());
+            }
+            if (unsortedSnapshots.sum() > 0) {
+                throw new IllegalStateException("정렬이 깨진 스냅샷이 있습니다. count=" + unsortedSnapshots.sum());
+            }
+        }
+    }
+
+    private static long run(UserRepository repository, int threads, int users, int seconds) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    int i = random.nextInt(users);
+                    int op = random.nextInt(1000);
+                    if (op < 700) {
+                        repository.findById(userId(i));
+                    } else if (op < 749) {
+                        repository.findPage(userId(i), 20);
+                    } else if (op < 750) {
+                        if (!isSorted(repository.snapshot())) {
+                            unsortedSnapshots.increment();
+                        }
+                    } else if (op < 850) {
+                        repository.save(new User(userId(i), "user" + i, i % 100));
+                    } else if (op < 950) {
+                        repository.update(userId(i), user -> user.withAge(user.getAge() + 1));
+                    } else {
+                        repository.delete(userId(i));
+                    }
+                    count++;
+                }
+                ops.add(count);
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return ops.sum();
+    }
+
+    /**
+     * 스냅샷은 동시 변경 중에 찍어도 userId 순으로 정렬되어 있어야 한다
+     */
+    private static boolean isSorted(List<User> snapshot) {
+        for (int i = 1; i < snapshot.size(); i++) {
+            if (snapshot.get(i - 1).getUserId().compareTo(snapshot.get(i).getUserId()) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String userId(int i) {
+        return "user" + i;
+    }
+}
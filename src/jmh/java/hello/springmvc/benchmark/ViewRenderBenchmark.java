@@ -0,0 +1,93 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.thymeleaf.TemplateEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 뷰 리졸버 + 템플릿 렌더링 비용과 @ResponseBody 문자열 반환 비용 비교
+ * - responseViewV1/V2 : ModelAndView, 논리 뷰 이름 반환 -> ThymeleafViewResolver -> 렌더링
+ * - responseBodyString : @ResponseBody 로 문자열 바로 반환 (뷰 없음)
+ * - firstRender        : 템플릿 캐시를 비운 직후 첫 렌더링 (첫 요청에서 p99 가 튀는 원인)
+ *
+ * 실행 : ./gradlew jmh -PjmhInclude=ViewRenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewRenderBenchmark {
+
+    private WebApplicationContext context;
+    private DispatcherServlet dispatcherServlet;
+    private TemplateEngine templateEngine;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("--spring.profiles.active=view-prod");
+        dispatcherServlet = BenchmarkApplication.dispatcherServlet(context);
+        templateEngine = context.getBean(TemplateEngine.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkApplication.close(context);
+    }
+
+    @Benchmark
+    public String responseViewV1() throws Exception {
+        return get("/response-view-v1");
+    }
+
+    @Benchmark
+    public String responseViewV2() throws Exception {
+        return get("/response-view-v2");
+    }
+
+    @Benchmark
+    public String responseBodyString() throws Exception {
+        return get("/response-body-string-v3");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = 1)
+    @Measurement(iterations = 50, batchSize = 1)
+    public String firstRender(ClearedTemplateCache clearedCache) throws Exception {
+        return get("/response-view-v2");
+    }
+
+    private String get(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(context.getServletContext(), "GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        dispatcherServlet.service(request, response);
+        return response.getContentAsString();
+    }
+
+    @State(Scope.Benchmark)
+    public static class ClearedTemplateCache {
+
+        @Setup(Level.Invocation)
+        public void clear(ViewRenderBenchmark benchmark) {
+            benchmark.templateEngine.clearTemplateCache();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package hello.springmvc.benchmark.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 느린 의존성(SlowDependency)을 부르는 회원 조회를 동기 / 비동기 방식별로 같은 조건에서 부하 테스트한다.
+ * - GET /mapping/users/userA/slow          : 톰캣 요청 스레드가 delayMs 동안 잡혀 있다 (기준)
+ * - GET /mapping/users/userA/slow-callable : 비동기 실행기(mvc-async-) 스레드가 대신 잡혀 있다
+ * - GET /mapping/users/userA/slow-deferred : 기다리는 동안 잡힌 스레드가 없다 (DeferredResult)
+ * - GET /mapping/users/userA/slow-future   : 기다리는 동안 잡힌 스레드가 없다 (CompletableFuture)
+ * 측정하는 동안 /actuator/metrics 로 톰캣 / 비동기 실행기 사용 중 스레드 수를 샘플링해서 같이 출력한다.
+ *
+ * 서버 : java -jar springmvc.jar --spring.profiles.active=loadtest --server.tomcat.threads.max=50
+ * 실행 : ./gradlew asyncBenchmark -PloadTestArgs="--concurrency=1000 --delay-ms=100 --duration=30"
+ * 톰캣 스레드(50) x (1000ms / delayMs) 가 동기 방식 처리량의 상한이다. 비동기 방식은 concurrency / delayMs 까지 올라가고,
+ * callable 은 hello.async.max-pool-size + queue-capacity 를 넘는 동시 요청부터 503(hello.async.rejected)이 난다.
+ */
+public class AsyncBenchmark {
+
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        String baseUrl = options.get("base-url", "http://localhost:8080");
+        String delayMs = options.get("delay-ms", "100");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/mapping/users?userId=userA&username=hello&age=20"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.discarding()); // 이미 있으면 409
+
+        Map<String, String> gauges = new LinkedHashMap<>();
+        gauges.put("tomcat.busy", baseUrl + "/actuator/metrics/tomcat.threads.busy");
+        gauges.put("async.active", baseUrl + "/actuator/metrics/executor.active?tag=name:mvcAsync");
+        gauges.put("async.queued", baseUrl + "/actuator/metrics/executor.queued?tag=name:mvcAsync");
+
+        List<String> results = new ArrayList<>();
+        for (String variant : new String[]{"slow", "slow-callable", "slow-deferred", "slow-future"}) {
+            LoadOptions scenario = options.with("url", baseUrl + "/mapping/users/userA/" + variant + "?delayMs=" + delayMs);
+            double rejectedBefore = read(client, baseUrl + "/actuator/metrics/hello.async.rejected");
+
+            GaugeSampler sampler = new GaugeSampler(client, gauges);
+            LoadResult result;
+            try {
+                result = new HttpLoadTest(scenario).run();
+            } finally {
+                sampler.stop();
+            }
+            double rejected = read(client, baseUrl + "/actuator/metrics/hello.async.rejected") - rejectedBefore;
+
+            String line = result + System.lineSeparator() + "    " + sampler + String.format(", async.rejected=%.0f", rejected);
+            System.out.println(line);
+            results.add(line);
+        }
+
+        System.out.println();
+        System.out.println("===== delayMs=" + delayMs + ", concurrency=" + options.concurrency() + " =====");
+        results.forEach(System.out::println);
+    }
+
+    private static double read(HttpClient client, String url) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = VALUE.matcher(response.body());
+            return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+        } catch (IOException e) {
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 부하 테스트가 도는 동안 200ms 마다 게이지 값을 읽어서 평균 / 최대를 낸다 (워밍업 구간 포함)
+     */
+    private static class GaugeSampler {
+        private final Map<String, String> gauges;
+        private final Map<String, double[]> stats = new LinkedHashMap<>(); // sum, max, count
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        GaugeSampler(HttpClient client, Map<String, String> gauges) {
+            this.gauges = gauges;
+            gauges.keySet().forEach(name -> stats.put(name, new double[3]));
+            scheduler.scheduleAtFixedRate(() -> gauges.forEach((name, url) -> {
+                double value = read(client, url);
+                if (!Double.isNaN(value)) {
+                    synchronized (stats) {
+                        double[] stat = stats.get(name);
+                        stat[0] += value;
+                        stat[1] = Math.max(stat[1], value);
+                        stat[2]++;
+                    }
+                }
+            }), 0, 200, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() throws InterruptedException {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            synchronized (stats) {
+                stats.forEach((name, stat) -> {
+                    if (sb.length() > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(stat[2] == 0 ? String.format("%s=n/a", name)
+                            : String.format("%s avg=%.1f max=%.0f", name, stat[0] / stat[2], stat[1]));
+                });
+            }
+            return sb.toString();
+        }
+    }
+}
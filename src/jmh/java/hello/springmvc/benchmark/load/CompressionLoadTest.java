@@ -0,0 +1,41 @@
+package hello.springmvc.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP/1.1 vs HTTP/2(h2c), 압축 안 함 vs gzip 조합별 처리량과 응답 바디 크기 비교
+ * 서버는 h2c, compression 프로필을 모두 켜고 띄운다. 클라이언트가 조합을 바꿔가며 요청한다.
+ *
+ * 1) java -jar build/libs/springmvc-0.0.1-SNAPSHOT.jar --spring.profiles.active=loadtest,h2c,compression
+ * 2) ./gradlew compressionLoadTest -PloadTestArgs="--concurrency=50 --duration=20"
+ *    (--urls=주소1,주소2 로 대상 변경 가능)
+ *
+ * 기본 대상은 server.compression.min-response-size(256) 보다 훨씬 큰 JSON 목록이다.
+ * /response-body-json-v2(약 30바이트), /response-view-v2(약 180바이트)는 그 크기보다 작아서 gzip 을 요청해도 압축되지 않는다.
+ */
+public class CompressionLoadTest {
+
+    private static final String DEFAULT_URLS =
+            "http://localhost:8080/response-body-json-list?size=200,http://localhost:8080/response-body-json-list?size=2000";
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+
+        List<LoadResult> results = new ArrayList<>();
+        for (String url : options.get("urls", DEFAULT_URLS).split(",")) {
+            for (String http2 : new String[]{"false", "true"}) {
+                for (String gzip : new String[]{"false", "true"}) {
+                    LoadOptions combination = options.with("url", url).with("http2", http2).with("gzip", gzip);
+                    LoadResult result = new HttpLoadTest(combination).run();
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("===== 요약 =====");
+        results.forEach(System.out::println);
+    }
+}
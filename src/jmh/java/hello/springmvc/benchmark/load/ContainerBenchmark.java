@@ -0,0 +1,41 @@
+package hello.springmvc.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 내장 서버(Tomcat / Undertow / Jetty) 비교용 부하 테스트
+ * 서버 종류만 바꿔서 같은 엔드포인트 묶음을 같은 조건으로 측정한다.
+ * - GET  /hello-basic            : 가장 단순한 요청 매핑
+ * - POST /request-body-json-v3   : JSON 요청 바디 -> 객체
+ * - GET  /response-body-json-v2  : 객체 -> JSON 응답
+ * - GET  /response-view-v2       : Thymeleaf 뷰 렌더링
+ *
+ * 실행 방법은 build.gradle 의 containerBenchmark 태스크 설명 참고
+ */
+public class ContainerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        String baseUrl = options.get("base-url", "http://localhost:8080");
+        String serverName = options.get("server-name", "unknown");
+
+        List<LoadOptions> scenarios = new ArrayList<>();
+        scenarios.add(options.with("url", baseUrl + "/hello-basic"));
+        scenarios.add(options.with("url", baseUrl + "/request-body-json-v3")
+                .with("body", "{\"username\":\"hello\",\"age\":20}"));
+        scenarios.add(options.with("url", baseUrl + "/response-body-json-v2"));
+        scenarios.add(options.with("url", baseUrl + "/response-view-v2"));
+
+        List<LoadResult> results = new ArrayList<>();
+        for (LoadOptions scenario : scenarios) {
+            LoadResult result = new HttpLoadTest(scenario).run();
+            System.out.println(result);
+            results.add(result);
+        }
+
+        System.out.println();
+        System.out.println("===== server=" + serverName + " =====");
+        results.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,124 @@
+package hello.springmvc.benchmark.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * localhost 에 띄운 애플리케이션에 동시 요청을 보내서 처리량(requests/sec)과 응답 시간을 측정한다.
+ * - concurrency 개의 요청을 항상 진행 중인 상태로 유지한다 (닫힌 부하 모델)
+ * - warmup 동안은 측정하지 않는다
+ *
+ * 실행 : ./gradlew loadTest -PloadTestArgs="--url=http://localhost:8080/hello-basic --concurrency=100 --duration=30"
+ *
+ * 블로킹 / 논블로킹 비교 예시 (같은 concurrency 로 각각 실행)
+ * --url=http://localhost:8080/request-body-json-v3 --body={"username":"hello","age":20}
+ * --url=http://localhost:8080/non-blocking/request-body-json-v3 --body={"username":"hello","age":20}
+ */
+public class HttpLoadTest {
+
+    private final LoadOptions options;
+
+    public HttpLoadTest(LoadOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadResult result = new HttpLoadTest(LoadOptions.parse(args)).run();
+        System.out.println(result);
+    }
+
+    public LoadResult run() throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        // --http2 : http:// 주소면 첫 요청에서 Upgrade: h2c 로 HTTP/2 전환을 시도한다
+        HttpClient client = HttpClient.newBuilder()
+                .version(options.getBoolean("http2") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            HttpRequest request = buildRequest();
+
+            // 워밍업 : 커넥션을 맺고 JIT 컴파일이 끝날 때까지 결과는 버린다
+            execute(client, request, options.warmupSeconds(), new LatencyHistogram());
+
+            LatencyHistogram histogram = new LatencyHistogram();
+            Counters counters = execute(client, request, options.durationSeconds(), histogram);
+            String name = options.url() + " [" + counters.protocol + ", " + (options.getBoolean("gzip") ? "gzip" : "identity") + "]";
+            return new LoadResult(name, counters.requests.sum(), counters.errors.sum(),
+                    counters.bodyBytes.sum(), counters.seconds, histogram);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * --body 가 있으면 POST(또는 --method) 로 메시지 바디를 같이 보낸다
+     * ex) --url=http://localhost:8080/request-body-json-v3 --body={"username":"hello","age":20}
+     */
+    private HttpRequest buildRequest() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.url()))
+                .timeout(Duration.ofSeconds(60));
+
+        // --gzip : 압축 응답을 요청한다. HttpClient 는 압축을 풀지 않으므로 bodyBytes 는 실제 전송된 바디 크기다
+        if (options.getBoolean("gzip")) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+
+        String body = options.get("body", null);
+        if (body == null) {
+            builder.method(options.get("method", "GET"), HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", options.get("content-type", "application/json"))
+                    .method(options.get("method", "POST"), HttpRequest.BodyPublishers.ofString(body));
+        }
+        return builder.build();
+    }
+
+    private Counters execute(HttpClient client, HttpRequest request, int seconds, LatencyHistogram histogram)
+            throws InterruptedException {
+
+        int concurrency = options.concurrency();
+        Semaphore inFlight = new Semaphore(concurrency);
+        Counters counters = new Counters();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long requestStart = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArrayConsumer(
+                            chunk -> chunk.ifPresent(bytes -> counters.bodyBytes.add(bytes.length))))
+                    .whenComplete((response, ex) -> {
+                        histogram.record(System.nanoTime() - requestStart);
+                        counters.requests.increment();
+                        if (ex != null || response.statusCode() >= 400) {
+                            counters.errors.increment();
+                        } else {
+                            counters.protocol = response.version();
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        // 진행 중인 요청이 모두 끝날 때까지 기다린다
+        inFlight.tryAcquire(concurrency, 60, TimeUnit.SECONDS);
+        counters.seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return counters;
+    }
+
+    private static class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bodyBytes = new LongAdder();
+        private volatile HttpClient.Version protocol;
+        private double seconds;
+    }
+}
@@ -0,0 +1,39 @@
+package hello.springmvc.benchmark.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 밀리초 단위 응답 시간 히스토그램 (0 ~ 60초, 그 이상은 마지막 칸에 모은다)
+ * 요청마다 값을 저장하지 않으므로 요청 수가 많아도 메모리가 일정하다.
+ */
+public class LatencyHistogram {
+
+    private static final int MAX_MILLIS = 60_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAX_MILLIS + 1);
+
+    public void record(long nanos) {
+        long millis = nanos / 1_000_000;
+        counts.incrementAndGet((int) Math.min(millis, MAX_MILLIS));
+    }
+
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return i;
+            }
+        }
+        return MAX_MILLIS;
+    }
+}
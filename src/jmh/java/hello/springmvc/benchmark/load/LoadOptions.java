@@ -0,0 +1,65 @@
+package hello.springmvc.benchmark.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션 : --key=value 형식
+ * ex) --url=http://localhost:8080/mapping/users/userA/slow --concurrency=10000 --duration=30
+ */
+public class LoadOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public static LoadOptions parse(String... args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("--key=value 형식이어야 합니다. arg=" + arg);
+            }
+            int index = arg.indexOf('=');
+            if (index < 0) {
+                options.values.put(arg.substring(2), "true"); // --flag
+            } else {
+                options.values.put(arg.substring(2, index), arg.substring(index + 1));
+            }
+        }
+        return options;
+    }
+
+    public LoadOptions with(String key, String value) {
+        LoadOptions copy = new LoadOptions();
+        copy.values.putAll(values);
+        copy.values.put(key, value);
+        return copy;
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+
+    public String url() {
+        return get("url", "http://localhost:8080/hello-basic");
+    }
+
+    public int concurrency() {
+        return getInt("concurrency", 100);
+    }
+
+    public int durationSeconds() {
+        return getInt("duration", 30);
+    }
+
+    public int warmupSeconds() {
+        return getInt("warmup", 5);
+    }
+}
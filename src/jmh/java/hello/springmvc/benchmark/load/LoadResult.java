@@ -0,0 +1,36 @@
+package hello.springmvc.benchmark.load;
+
+public class LoadResult {
+
+    private final String name;
+    private final long requests;
+    private final long errors;
+    private final long bodyBytes;
+    private final double seconds;
+    private final LatencyHistogram histogram;
+
+    public LoadResult(String name, long requests, long errors, long bodyBytes, double seconds,
+                      LatencyHistogram histogram) {
+        this.name = name;
+        this.requests = requests;
+        this.errors = errors;
+        this.bodyBytes = bodyBytes;
+        this.seconds = seconds;
+        this.histogram = histogram;
+    }
+
+    public double requestsPerSecond() {
+        return requests / seconds;
+    }
+
+    public long bytesPerRequest() {
+        return requests == 0 ? 0 : bodyBytes / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s : requests=%d, errors=%d, rps=%.1f, p50=%dms, p99=%dms, max=%dms, bodyBytes/req=%d",
+                name, requests, errors, requestsPerSecond(),
+                histogram.percentile(50), histogram.percentile(99), histogram.percentile(100), bytesPerRequest());
+    }
+}
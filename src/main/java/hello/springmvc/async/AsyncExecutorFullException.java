@@ -0,0 +1,18 @@
+package hello.springmvc.async;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 실행기의 스레드와 큐가 모두 찼다
+ * ThreadPoolTaskExecutor 가 TaskRejectedException 으로 감싸서 던지지만, 원인 예외의 @ResponseStatus 로 503 응답이 된다
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AsyncExecutorFullException extends RejectedExecutionException {
+
+    public AsyncExecutorFullException(int poolSize, int queueSize) {
+        super("비동기 실행기가 가득 찼습니다. poolSize=" + poolSize + ", queueSize=" + queueSize);
+    }
+}
@@ -0,0 +1,27 @@
+package hello.springmvc.async;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * hello.async.* 설정 : Callable / WebAsyncTask / StreamingResponseBody 를 실행하는 스프링 MVC 비동기 실행기
+ * ThreadPoolExecutor 규칙 : core 개까지 스레드를 만들고 -> 큐에 쌓고 -> 큐가 차면 max 개까지 스레드를 늘리고 -> 그래도 넘치면 거절(503)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("hello.async")
+public class AsyncProperties {
+
+    private int corePoolSize = 32;
+    private int maxPoolSize = 128;
+    private int queueCapacity = 1000;
+    private int keepAliveSeconds = 60;
+
+    /**
+     * 비동기 요청 기본 타임아웃, 넘으면 503 (spring.mvc.async.request-timeout 대신 사용)
+     */
+    private long timeoutMs = 10_000;
+}
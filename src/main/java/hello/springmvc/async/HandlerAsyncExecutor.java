@@ -0,0 +1,100 @@
+package hello.springmvc.async;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비동기 핸들러(Callable, CompletableFuture.supplyAsync, StreamingResponseBody) 전용 스레드 풀
+ * - 스레드 수와 큐 크기에 한도가 있다. 넘치면 기다리지 않고 503 (AsyncExecutorFullException)
+ * - 거절 수, 타임아웃 수를 센다 (ApplicationMetrics -> hello.async.*)
+ *
+ * 스레드 풀 자체는 빈으로 등록하지 않는다.
+ * Executor 빈이 하나라도 있으면 스프링 부트 기본 applicationTaskExecutor 가 만들어지지 않는다. (HelloDataBatchProcessor 와 같은 이유)
+ */
+@Component
+public class HandlerAsyncExecutor {
+
+    private final AsyncProperties properties;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public HandlerAsyncExecutor(AsyncProperties properties) {
+        this.properties = properties;
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setKeepAliveSeconds(properties.getKeepAliveSeconds());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new AsyncExecutorFullException(pool.getPoolSize(), pool.getQueue().size());
+        });
+        // 종료할 때 처리 중인 요청은 타임아웃 시간까지 기다려준다
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(properties.getTimeoutMs());
+        executor.initialize();
+    }
+
+    /**
+     * WebMvcConfigurer.configureAsyncSupport 에서 호출한다
+     */
+    public void configure(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(properties.getTimeoutMs());
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+                // 타임아웃이 나도 실행 중인 작업을 멈추지는 않는다. (응답만 503 으로 먼저 나간다)
+                timeouts.increment();
+                return RESULT_NONE;
+            }
+        });
+        configurer.registerDeferredResultInterceptors(new DeferredResultProcessingInterceptor() {
+            @Override
+            public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+                timeouts.increment();
+                return true;
+            }
+        });
+    }
+
+    public AsyncTaskExecutor getExecutor() {
+        return executor;
+    }
+
+    public ThreadPoolExecutor getThreadPoolExecutor() {
+        return executor.getThreadPoolExecutor();
+    }
+
+    /**
+     * 스레드와 큐가 모두 차서 거절한 작업 수
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 타임아웃 난 비동기 요청 수 (Callable, DeferredResult, CompletableFuture)
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,47 @@
+package hello.springmvc.async;
+
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 느린 의존성(DB, 외부 API)을 흉내낸다. 부하 테스트용
+ * - call()      : 블로킹 클라이언트. 호출한 스레드가 delayMs 동안 잡혀 있다
+ * - callAsync() : 논블로킹 클라이언트. 기다리는 동안 아무 스레드도 잡지 않고, delayMs 뒤에 타이머 스레드가 결과를 채운다
+ */
+@Component
+public class SlowDependency {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-dependency-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public <T> T call(long delayMs, Supplier<T> result) throws InterruptedException {
+        Thread.sleep(delayMs);
+        return result.get();
+    }
+
+    public <T> CompletableFuture<T> callAsync(long delayMs, Supplier<T> result) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        timer.schedule(() -> {
+            try {
+                future.complete(result.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+}
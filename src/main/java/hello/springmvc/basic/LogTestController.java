@@ -1,9 +1,11 @@
 package hello.springmvc.basic;
 
+import hello.springmvc.logging.DropCountingAsyncAppender;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -37,6 +39,30 @@ public class LogTestController {
 
         return "ok";
     }
+
+    /**
+     * 로그 비용 측정 : 요청 1건 안에서 info 로그를 lines 번 남기고, 걸린 시간을 응답한다
+     * ex) /log-test/bench?lines=1000
+     * 비동기 로그(logback-spring.xml)이면 큐에 넣는 비용만 요청 시간에 포함된다.
+     * 큐가 넘쳐서 버린 로그 수(dropped)도 함께 보여준다.
+     */
+    @RequestMapping("/log-test/bench")
+    public String logBench(@RequestParam(defaultValue = "1000") int lines) {
+
+        long droppedBefore = DropCountingAsyncAppender.getDroppedCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < lines; i++) {
+            log.info("log bench line={}", i);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long dropped = DropCountingAsyncAppender.getDroppedCount() - droppedBefore;
+
+        return "lines=" + lines
+                + ", elapsedUs=" + elapsedNanos / 1000
+                + ", nsPerLine=" + (lines == 0 ? 0 : elapsedNanos / lines)
+                + ", dropped=" + dropped
+                + ", totalDropped=" + DropCountingAsyncAppender.getDroppedCount();
+    }
 }
 
 // 로그가 출력되는 포멧 : 시간, 로그레벨, 프로세스 ID, 쓰레드명, 클래스명, 로그메시지
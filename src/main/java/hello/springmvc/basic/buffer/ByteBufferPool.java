@@ -0,0 +1,58 @@
+package hello.springmvc.basic.buffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * direct ByteBuffer 재사용 풀
+ * - direct 버퍼는 힙 밖(네이티브 메모리)에 만들어지므로 GC 대상이 아니지만, 생성/해제 비용이 크다
+ * - 요청마다 새로 만들지 않고 풀에서 빌려 쓰고 반납한다 (acquire -> release)
+ * - 풀에 보관하는 개수는 maxPooled 로 제한한다. 풀이 비어 있으면 새로 만든다.
+ */
+@Component
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCount = new AtomicInteger();
+
+    public ByteBufferPool(@Value("${hello.buffer.size:65536}") int bufferSize,
+                          @Value("${hello.buffer.max-pooled:64}") int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooledCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        // 풀이 가득 차 있으면 보관하지 않고 버린다
+        if (pooledCount.incrementAndGet() > maxPooled) {
+            pooledCount.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,167 @@
+package hello.springmvc.basic.buffer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기별(size class) byte[] 재사용 풀 - 요청 바디를 읽을 때 쓴다
+ * - 요청 크기가 제각각이므로 1KB, 4KB, 16KB, 64KB ... 처럼 크기별 칸을 나눠서, 필요한 크기 이상인 가장 작은 칸에서 빌려준다
+ * - 칸마다 AtomicReferenceArray 슬롯에 버퍼를 보관하고, CAS 로 꺼내고(null 로 바꿈) 넣는다
+ *   ==> 락이 없고, 반납할 때 큐 노드 같은 객체도 만들지 않는다. 슬롯이 가득 차면 반납된 버퍼는 버린다(GC).
+ * - 스레드마다 다른 슬롯부터 찾기 시작해서 CAS 경합을 줄인다
+ * - 가장 큰 칸보다 큰 요청은 풀을 거치지 않고 그냥 만든다
+ *
+ * 누수 검사 (hello.buffer.leak-detection=true, 테스트용)
+ * - 빌려간 버퍼마다 빌려간 위치(스택 트레이스)를 기록하고, 반납하면 지운다
+ * - getLeaks() 로 아직 반납되지 않은 버퍼의 위치를 확인한다. 두 번 반납하면 IllegalStateException
+ * 꺼져 있어도 빌려간 개수(getOutstanding)는 항상 센다.
+ */
+@Component
+public class HeapBufferPool {
+
+    private final int[] sizeClasses;
+    private final AtomicReferenceArray<byte[]>[] slots;
+    private final int slotMask;
+
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final Map<byte[], Throwable> leakTracker;
+
+    @SuppressWarnings("unchecked")
+    public HeapBufferPool(@Value("${hello.buffer.heap.size-classes:1024,4096,16384,65536}") int[] sizeClasses,
+                          @Value("${hello.buffer.heap.max-pooled:64}") int maxPooled,
+                          @Value("${hello.buffer.leak-detection:false}") boolean leakDetection) {
+        this.sizeClasses = sizeClasses.clone();
+        Arrays.sort(this.sizeClasses);
+
+        int slotCount = Integer.highestOneBit(Math.max(1, maxPooled - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.slotMask = slotCount - 1;
+        this.slots = new AtomicReferenceArray[this.sizeClasses.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new AtomicReferenceArray<>(slotCount);
+        }
+        this.leakTracker = leakDetection ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+    }
+
+    /**
+     * @return 길이가 minCapacity 이상인 버퍼 (내용은 이전에 쓰던 값이 남아 있을 수 있다)
+     */
+    public byte[] acquire(int minCapacity) {
+        byte[] buffer = poll(minCapacity);
+        outstanding.incrementAndGet();
+        if (leakTracker != null) {
+            leakTracker.put(buffer, new Throwable("buffer acquired here, size=" + buffer.length));
+        }
+        return buffer;
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        if (leakTracker != null && leakTracker.remove(buffer) == null) {
+            throw new IllegalStateException("빌려가지 않았거나 이미 반납된 버퍼입니다. size=" + buffer.length);
+        }
+        outstanding.decrementAndGet();
+
+        int sizeClass = Arrays.binarySearch(sizeClasses, buffer.length);
+        if (sizeClass < 0) {
+            return; // 풀 크기가 아닌 버퍼 (가장 큰 칸보다 컸던 요청)
+        }
+        AtomicReferenceArray<byte[]> classSlots = slots[sizeClass];
+        int start = probeStart();
+        for (int i = 0; i <= slotMask; i++) {
+            int index = (start + i) & slotMask;
+            if (classSlots.get(index) == null && classSlots.compareAndSet(index, null, buffer)) {
+                return;
+            }
+        }
+        // 슬롯이 가득 참 ==> 버린다
+    }
+
+    /**
+     * 버퍼가 작아서 더 읽을 수 없을 때, 더 큰 버퍼로 옮긴다. 기존 버퍼는 반납된다.
+     */
+    public byte[] grow(byte[] buffer, int length, int minCapacity) {
+        byte[] larger = acquire(minCapacity);
+        System.arraycopy(buffer, 0, larger, 0, length);
+        release(buffer);
+        return larger;
+    }
+
+    /**
+     * 풀에서 재사용하는 가장 큰 버퍼 크기
+     */
+    public int getMaxPooledSize() {
+        return sizeClasses[sizeClasses.length - 1];
+    }
+
+    /**
+     * 아직 반납되지 않은 버퍼 수
+     */
+    public long getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * 풀에 없어서 새로 만든 버퍼 수 (작을수록 재사용이 잘 되고 있다)
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * 반납되지 않은 버퍼를 빌려간 위치, 누수 검사가 꺼져 있으면 빈 목록
+     */
+    public List<Throwable> getLeaks() {
+        if (leakTracker == null) {
+            return Collections.emptyList();
+        }
+        synchronized (leakTracker) {
+            return new ArrayList<>(leakTracker.values());
+        }
+    }
+
+    private byte[] poll(int minCapacity) {
+        int sizeClass = sizeClassFor(minCapacity);
+        if (sizeClass < 0) {
+            allocated.incrementAndGet();
+            return new byte[minCapacity];
+        }
+        AtomicReferenceArray<byte[]> classSlots = slots[sizeClass];
+        int start = probeStart();
+        for (int i = 0; i <= slotMask; i++) {
+            int index = (start + i) & slotMask;
+            byte[] buffer = classSlots.get(index);
+            if (buffer != null && classSlots.compareAndSet(index, buffer, null)) {
+                return buffer;
+            }
+        }
+        allocated.incrementAndGet();
+        return new byte[sizeClasses[sizeClass]];
+    }
+
+    private int sizeClassFor(int minCapacity) {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            if (sizeClasses[i] >= minCapacity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int probeStart() {
+        // 스레드 id 를 섞어서 스레드마다 다른 슬롯부터 찾는다
+        long id = Thread.currentThread().getId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+    }
+}
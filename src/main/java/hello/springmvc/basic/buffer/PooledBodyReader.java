@@ -0,0 +1,65 @@
+package hello.springmvc.basic.buffer;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 요청 바디를 HeapBufferPool 에서 빌린 byte[] 에 읽는다
+ * - StreamUtils.copyToString : InputStreamReader + char[] 버퍼 + StringBuilder + String 을 요청마다 새로 만든다
+ * - readString : 풀 버퍼에 바이트로 읽고, 마지막에 String 하나만 만든다
+ * - read       : String 도 만들지 않고 버퍼를 그대로 넘긴다 (ex. ObjectReader.readValue(byte[], offset, length))
+ * Content-Length 를 알면 그 크기(최대 풀의 가장 큰 크기)의 버퍼를 빌리고, 모르면 가장 작은 크기부터 필요할 때 키운다.
+ */
+@Component
+public class PooledBodyReader {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    /**
+     * 풀 버퍼에 담긴 바디를 처리하는 콜백, 버퍼는 콜백이 끝나면 반납되므로 밖으로 들고 나가면 안 된다
+     */
+    @FunctionalInterface
+    public interface BodyCallback<T> {
+        T apply(byte[] body, int length) throws IOException;
+    }
+
+    private final HeapBufferPool bufferPool;
+
+    public PooledBodyReader(HeapBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    public String readString(InputStream inputStream, long contentLength, Charset charset) throws IOException {
+        return read(inputStream, contentLength, (body, length) -> new String(body, 0, length, charset));
+    }
+
+    public <T> T read(InputStream inputStream, long contentLength, BodyCallback<T> callback) throws IOException {
+        // Content-Length 는 클라이언트가 보낸 값이라 믿을 수 없다. 풀의 가장 큰 크기까지만 미리 잡고, 넘는 만큼은 실제로 읽으면서 키운다
+        // +1 : 끝(-1)을 확인할 때 버퍼를 키우지 않도록
+        int initialCapacity = contentLength >= 0
+                ? (int) Math.min(contentLength + 1, bufferPool.getMaxPooledSize())
+                : DEFAULT_INITIAL_CAPACITY;
+
+        byte[] buffer = bufferPool.acquire(initialCapacity);
+        try {
+            int length = 0;
+            int read;
+            while (true) {
+                if (length == buffer.length) {
+                    buffer = bufferPool.grow(buffer, length, buffer.length * 2);
+                }
+                read = inputStream.read(buffer, length, buffer.length - length);
+                if (read == -1) {
+                    break;
+                }
+                length += read;
+            }
+            return callback.apply(buffer, length);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package hello.springmvc.basic.buffer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * @RequestBody HelloData (JSON) 를 읽을 때 PooledBodyReader 로 바디를 풀 버퍼에 읽고, 버퍼에서 바로 변환한다.
+ * 기본 MappingJackson2HttpMessageConverter 보다 앞에 두고, HelloData 읽기만 맡는다. (쓰기, 다른 타입은 기본 컨버터)
+ * 변환에는 JsonCodecRegistry 가 공유하는 HelloData ObjectReader 를 쓴다.
+ */
+public class PooledHelloDataHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final PooledBodyReader bodyReader;
+    private final ObjectReader reader;
+
+    public PooledHelloDataHttpMessageConverter(ObjectMapper objectMapper, JsonCodecRegistry codecRegistry, PooledBodyReader bodyReader) {
+        super(objectMapper);
+        this.bodyReader = bodyReader;
+        this.reader = codecRegistry.reader(HelloData.class);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return clazz == HelloData.class && super.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type == HelloData.class && super.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readHelloData(inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readHelloData(inputMessage);
+    }
+
+    private HelloData readHelloData(HttpInputMessage inputMessage) throws IOException {
+        // JSON 은 바이트에서 인코딩(UTF-8/16/32)을 판별하므로 String 으로 바꾸지 않고 바로 넘긴다
+        try {
+            return bodyReader.read(inputMessage.getBody(), inputMessage.getHeaders().getContentLength(),
+                    (body, length) -> reader.readValue(body, 0, length));
+        } catch (JsonProcessingException e) {
+            // 기본 컨버터처럼 400 Bad Request 로 응답되도록 바꾼다
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springmvc.basic.buffer;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @RequestBody String, HttpEntity<String> 을 읽을 때 PooledBodyReader 를 사용하는 StringHttpMessageConverter
+ * 쓰기(응답)는 기본 동작 그대로다.
+ */
+public class PooledStringHttpMessageConverter extends StringHttpMessageConverter {
+
+    private final PooledBodyReader bodyReader;
+
+    public PooledStringHttpMessageConverter(PooledBodyReader bodyReader, Charset defaultCharset) {
+        super(defaultCharset);
+        this.bodyReader = bodyReader;
+    }
+
+    @Override
+    protected String readInternal(Class<? extends String> clazz, HttpInputMessage inputMessage) throws IOException {
+        return bodyReader.readString(inputMessage.getBody(), inputMessage.getHeaders().getContentLength(),
+                charset(inputMessage.getHeaders().getContentType()));
+    }
+
+    /**
+     * StringHttpMessageConverter 와 같은 규칙 : Content-Type 의 charset, JSON 이면 UTF-8, 그 외에는 기본 charset
+     */
+    private Charset charset(MediaType contentType) {
+        if (contentType != null) {
+            if (contentType.getCharset() != null) {
+                return contentType.getCharset();
+            }
+            if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+        Charset defaultCharset = getDefaultCharset();
+        return defaultCharset != null ? defaultCharset : StandardCharsets.ISO_8859_1;
+    }
+}
@@ -0,0 +1,39 @@
+package hello.springmvc.basic.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hello.springmvc.basic.HelloData;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스프링 부트가 설정한 ObjectMapper 를 공유하고, 타입별 ObjectReader / ObjectWriter 를 캐시해서 제공한다.
+ * - 컨트롤러마다 new ObjectMapper() 를 만들면 부트 설정(모듈, 옵션)이 빠지고, 직렬화기 캐시도 따로 쌓인다
+ * - ObjectReader, ObjectWriter 는 불변(thread-safe)이라 한 번 만들어서 계속 재사용할 수 있다
+ */
+@Component
+public class JsonCodecRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonCodecRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+
+        // 자주 쓰는 타입은 시작 시점에 미리 만들어서, 첫 요청에서 (역)직렬화기를 만드는 비용을 없앤다
+        reader(HelloData.class);
+        writer(HelloData.class);
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+}
@@ -0,0 +1,55 @@
+package hello.springmvc.basic.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JSON 배열 [{...}, {...}] 또는 NDJSON {...}\n{...} 형식의 입력을 레코드 단위로 읽는다.
+ * 메시지 바디 전체를 문자열로 복사하지 않고, JsonParser 로 토큰을 하나씩 읽으면서 객체 하나만 변환한다.
+ * ==> 입력 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+public class JsonRecordReader<T> implements Closeable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final boolean array;
+
+    public JsonRecordReader(ObjectReader reader, InputStream inputStream) throws IOException {
+        this.reader = reader;
+        this.parser = reader.getFactory().createParser(inputStream);
+
+        // 첫 토큰이 [ 이면 JSON 배열, 아니면 루트 값이 연속으로 오는 NDJSON 으로 본다
+        JsonToken first = parser.nextToken();
+        this.array = first == JsonToken.START_ARRAY;
+        if (array) {
+            parser.nextToken();
+        }
+    }
+
+    /**
+     * 다음 레코드를 반환한다. 더 이상 레코드가 없으면 null
+     */
+    public T read() throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || (array && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("JSON 객체가 필요합니다. token=" + token + ", location=" + parser.getCurrentLocation());
+        }
+
+        T value = reader.readValue(parser); // END_OBJECT 까지 읽는다
+        parser.nextToken();
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,19 @@
+package hello.springmvc.basic.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * MessagePack (application/x-msgpack) HTTP 메시지 컨버터
+ * 스프링이 Smile, CBOR 컨버터는 제공하지만 MessagePack 은 없어서 같은 방식으로 만든다.
+ * objectMapper 는 MessagePackFactory 로 만든 것을 넘겨야 한다.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "x-msgpack");
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_MSGPACK);
+    }
+}
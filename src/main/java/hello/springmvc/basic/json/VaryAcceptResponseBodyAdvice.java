@@ -0,0 +1,40 @@
+package hello.springmvc.basic.json;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * 같은 URL 이 Accept 에 따라 JSON, Smile, CBOR, MessagePack 중 하나로 응답하므로 Vary: Accept 를 붙인다.
+ * 붙이지 않으면 중간 캐시(프록시, 브라우저)가 JSON 을 요청한 클라이언트에게 저장해둔 바이너리 응답을 줄 수 있다.
+ * (@CachedResponseBody 응답은 메시지 컨버터를 거치지 않고 ResponseBodyCache 가 직접 붙인다)
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "hello.codec.binary.enabled", havingValue = "true")
+public class VaryAcceptResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        List<String> vary = headers.getVary();
+        if (!vary.contains(HttpHeaders.ACCEPT) && !vary.contains("*")) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return body;
+    }
+}
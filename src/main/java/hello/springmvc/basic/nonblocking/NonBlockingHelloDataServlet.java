@@ -0,0 +1,240 @@
+package hello.springmvc.basic.nonblocking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RequestBodyJsonController, ResponseBodyController 의 JSON 엔드포인트를 논블로킹 I/O 로 처리하는 서블릿
+ * - 서블릿 3.1 비동기 I/O : ReadListener / WriteListener
+ * - 메시지 바디를 읽거나 쓸 수 있을 때만 컨테이너가 리스너를 호출하므로, 느린 클라이언트를 기다리면서 스레드를 점유하지 않는다
+ *
+ * POST /non-blocking/request-body-json-v3  : {"username":"hello", "age":20} -> ok
+ * POST /non-blocking/request-body-json-v5  : {"username":"hello", "age":20} -> 받은 HelloData 를 JSON 으로 응답
+ * GET  /non-blocking/response-body-json-v1 : {"username":"userA","age":20}
+ * GET  /non-blocking/response-body-json-v2 : {"username":"userA","age":20}
+ *
+ * 바디가 MAX_BODY_SIZE 를 넘으면 413 (Content-Length 로 미리 알 수 있으면 비동기 처리를 시작하기 전에 거절한다)
+ * 비동기 처리는 ASYNC_TIMEOUT_MS 안에 끝나야 하고, 넘으면 AsyncListener 가 408 로 끝낸다 (컨테이너 기본값에 맡기지 않는다)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NonBlockingHelloDataServlet extends HttpServlet {
+
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+    private static final int CHUNK_SIZE = 8192;
+    private static final long ASYNC_TIMEOUT_MS = 30_000;
+
+    private final JsonCodecRegistry codecRegistry;
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        if (!"/request-body-json-v3".equals(path) && !"/request-body-json-v5".equals(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (request.getContentLengthLong() > MAX_BODY_SIZE) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "메시지 바디가 너무 큽니다. max=" + MAX_BODY_SIZE);
+            return;
+        }
+
+        boolean echo = "/request-body-json-v5".equals(path);
+        Exchange exchange = startAsync(request);
+        ServletInputStream inputStream = request.getInputStream();
+        inputStream.setReadListener(new BodyReader(exchange, inputStream, echo));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        if (!"/response-body-json-v1".equals(path) && !"/response-body-json-v2".equals(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        HelloData helloData = new HelloData();
+        helloData.setUsername("userA");
+        helloData.setAge(20);
+
+        Exchange exchange = startAsync(request);
+        write(exchange, MediaType.APPLICATION_JSON_VALUE, codecRegistry.writer(HelloData.class).writeValueAsBytes(helloData));
+    }
+
+    private Exchange startAsync(HttpServletRequest request) {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(ASYNC_TIMEOUT_MS);
+        Exchange exchange = new Exchange(asyncContext);
+        asyncContext.addListener(exchange);
+        return exchange;
+    }
+
+    private void write(Exchange exchange, String contentType, byte[] body) throws IOException {
+        HttpServletResponse response = (HttpServletResponse) exchange.asyncContext.getResponse();
+        response.setContentType(contentType);
+        response.setContentLength(body.length);
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        outputStream.setWriteListener(new BodyWriter(exchange, outputStream, body));
+    }
+
+    /**
+     * 요청 하나의 비동기 처리 상태
+     * 읽기 / 쓰기 리스너, 타임아웃, 오류 중 어디서 끝나든 complete() 는 한 번만 호출한다
+     */
+    @RequiredArgsConstructor
+    private static class Exchange implements AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        boolean isDone() {
+            return done.get();
+        }
+
+        void complete() {
+            if (done.compareAndSet(false, true)) {
+                asyncContext.complete();
+            }
+        }
+
+        void fail(int status, Throwable t) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            log.warn("non-blocking request failed. status={}, cause={}", status, t.toString());
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(status);
+            }
+            asyncContext.complete();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // 바디를 다 받기 전이면 408, 응답을 쓰는 중이었으면 상태 코드는 이미 나갔으므로 끝내기만 한다
+            fail(HttpServletResponse.SC_REQUEST_TIMEOUT, new IOException("비동기 처리 시간 초과. timeoutMs=" + ASYNC_TIMEOUT_MS));
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            fail(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            done.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * 읽을 데이터가 있을 때만 호출되어서, 준비된 만큼만 읽고 바로 반환한다
+     */
+    @RequiredArgsConstructor
+    private class BodyReader implements ReadListener {
+
+        private final Exchange exchange;
+        private final ServletInputStream inputStream;
+        private final boolean echo;
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            // isReady() 가 false 가 되면 다음 데이터가 도착할 때 다시 호출된다
+            while (!exchange.isDone() && inputStream.isReady() && !inputStream.isFinished()) {
+                int read = inputStream.read(buffer);
+                if (read > 0) {
+                    body.write(buffer, 0, read);
+                }
+                if (body.size() > MAX_BODY_SIZE) {
+                    // Content-Length 없이(chunked) 보낸 큰 바디
+                    exchange.fail(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                            new IOException("메시지 바디가 너무 큽니다. max=" + MAX_BODY_SIZE));
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            if (exchange.isDone()) {
+                return;
+            }
+            HelloData helloData;
+            try {
+                helloData = codecRegistry.reader(HelloData.class).readValue(body.toByteArray());
+            } catch (JsonProcessingException e) {
+                exchange.fail(HttpServletResponse.SC_BAD_REQUEST, e);
+                return;
+            }
+            log.info("username{}, age={}", helloData.getUsername(), helloData.getAge());
+
+            if (echo) {
+                write(exchange, MediaType.APPLICATION_JSON_VALUE, codecRegistry.writer(HelloData.class).writeValueAsBytes(helloData));
+            } else {
+                write(exchange, MediaType.TEXT_PLAIN_VALUE, "ok".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            exchange.fail(HttpServletResponse.SC_BAD_REQUEST, t);
+        }
+    }
+
+    /**
+     * 소켓 버퍼에 쓸 수 있을 때만 호출되어서, 쓸 수 있는 만큼만 쓰고 바로 반환한다
+     */
+    @RequiredArgsConstructor
+    private class BodyWriter implements WriteListener {
+
+        private final Exchange exchange;
+        private final ServletOutputStream outputStream;
+        private final byte[] body;
+
+        private int offset;
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (!exchange.isDone() && outputStream.isReady()) {
+                if (offset >= body.length) {
+                    exchange.complete();
+                    return;
+                }
+                int length = Math.min(CHUNK_SIZE, body.length - offset);
+                outputStream.write(body, offset, length);
+                offset += length;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            exchange.fail(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, t);
+        }
+    }
+}
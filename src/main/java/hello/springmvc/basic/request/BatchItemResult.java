@@ -0,0 +1,27 @@
+package hello.springmvc.basic.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 배치 요청의 레코드 1건 처리 결과
+ * ex) {"index":0,"ok":true,"username":"hello","age":20,"message":null}
+ */
+@Getter
+@RequiredArgsConstructor
+public class BatchItemResult {
+
+    private final long index;
+    private final boolean ok;
+    private final String username;
+    private final int age;
+    private final String message;
+
+    public static BatchItemResult ok(long index, String username, int age) {
+        return new BatchItemResult(index, true, username, age, null);
+    }
+
+    public static BatchItemResult error(long index, String message) {
+        return new BatchItemResult(index, false, null, 0, message);
+    }
+}
@@ -0,0 +1,28 @@
+package hello.springmvc.basic.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 배치 응답의 마지막 줄
+ * - 응답을 묶음마다 내보내면 상태 코드는 이미 200 으로 나간 뒤라서, 중간에 실패해도 상태 코드로 알릴 수 없다
+ * - 클라이언트는 마지막 줄이 summary 인지, ok 가 true 인지 보고 응답이 끝까지 왔는지 확인한다
+ * ex) {"summary":true,"count":3,"ok":true,"error":null}
+ */
+@Getter
+@RequiredArgsConstructor
+public class BatchSummary {
+
+    private final boolean summary = true;
+    private final long count;
+    private final boolean ok;
+    private final String error;
+
+    public static BatchSummary ok(long count) {
+        return new BatchSummary(count, true, null);
+    }
+
+    public static BatchSummary error(long count, String error) {
+        return new BatchSummary(count, false, error);
+    }
+}
@@ -0,0 +1,96 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.json.JsonRecordReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * HelloData 배치 검증/변환
+ * - 입력을 chunkSize 개씩 끊어서 읽고, 한 묶음을 ForkJoinPool 에서 병렬로 처리한다
+ * - 묶음 단위로 결과를 내보내므로 입력이 커도 메모리에는 한 묶음만 올라간다
+ * - ForkJoinPool 은 공용 풀(commonPool)이 아니라 크기를 제한한 전용 풀을 사용한다
+ *   (스프링 빈으로 등록하면 Executor 빈이 생겨서 스프링 부트 기본 applicationTaskExecutor 가 만들어지지 않는다)
+ */
+@Slf4j
+@Component
+public class HelloDataBatchProcessor {
+
+    private final ForkJoinPool forkJoinPool;
+    private final int chunkSize;
+
+    public HelloDataBatchProcessor(@Value("${hello.batch.parallelism:0}") int parallelism,
+                                   @Value("${hello.batch.chunk-size:1024}") int chunkSize) {
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    public interface ResultWriter {
+        void write(List<BatchItemResult> results) throws IOException;
+    }
+
+    /**
+     * @return 처리한 레코드 수
+     */
+    public long process(JsonRecordReader<HelloData> reader, ResultWriter resultWriter) throws IOException {
+        List<HelloData> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+
+        HelloData helloData;
+        while ((helloData = reader.read()) != null) {
+            chunk.add(helloData);
+            if (chunk.size() == chunkSize) {
+                resultWriter.write(processChunk(index, chunk));
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            resultWriter.write(processChunk(index, chunk));
+            index += chunk.size();
+        }
+        return index;
+    }
+
+    private List<BatchItemResult> processChunk(long baseIndex, List<HelloData> chunk) throws IOException {
+        // 병렬 스트림은 자신을 실행한 ForkJoinPool 에서 돈다. 전용 풀에 submit 해서 commonPool 을 쓰지 않게 한다.
+        try {
+            return forkJoinPool.submit(() -> IntStream.range(0, chunk.size())
+                            .parallel()
+                            .mapToObj(i -> processItem(baseIndex + i, chunk.get(i)))
+                            .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("배치 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("배치 처리에 실패했습니다.", e.getCause());
+        }
+    }
+
+    private BatchItemResult processItem(long index, HelloData helloData) {
+        if (!StringUtils.hasText(helloData.getUsername())) {
+            return BatchItemResult.error(index, "username 은 필수입니다.");
+        }
+        if (helloData.getAge() < 0 || helloData.getAge() > 150) {
+            return BatchItemResult.error(index, "age 는 0 ~ 150 사이여야 합니다. age=" + helloData.getAge());
+        }
+        return BatchItemResult.ok(index, helloData.getUsername().trim(), helloData.getAge());
+    }
+
+    @PreDestroy
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+}
@@ -1,20 +1,27 @@
 package hello.springmvc.basic.request;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.async.SlowDependency;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.buffer.PooledBodyReader;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import hello.springmvc.basic.json.JsonRecordReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {"username":"hello", "age":20}
@@ -22,20 +29,28 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyJsonController {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    // 직접 new ObjectMapper() 를 만들지 않고, 스프링 부트가 설정한 ObjectMapper 로 만든 ObjectReader 를 재사용한다
+    private final JsonCodecRegistry codecRegistry;
+    private final HelloDataBatchProcessor batchProcessor;
+    private final PooledBodyReader bodyReader;
+    private final SlowDependency slowDependency;
 
     @PostMapping("/request-body-json-v1")
     public void requestBodyJsonV1(HttpServletRequest request, HttpServletResponse response) throws IOException {
 
-        // HttpServletRequest 를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어와서, 문자로 변환한다.
+        // HttpServletRequest 를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어온다.
+        // 풀 버퍼(PooledBodyReader)에 바이트로 읽고, 문자로 변환하지 않고 바로 객체로 변환한다. (문자열은 로그를 남길 때만 만든다)
         ServletInputStream inputStream = request.getInputStream();
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
-        log.info("messageBody={}", messageBody);
-
-        // 문자로 된 JSON 데이터를 Jackson 라이브러리인 objectMapper 를 사용해서 자바 객체로 변환한다.
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        HelloData helloData = bodyReader.read(inputStream, request.getContentLengthLong(), (body, length) -> {
+            if (log.isInfoEnabled()) {
+                log.info("messageBody={}", new String(body, 0, length, StandardCharsets.UTF_8));
+            }
+            // JSON 데이터를 Jackson 라이브러리인 ObjectReader 를 사용해서 자바 객체로 변환한다.
+            return codecRegistry.reader(HelloData.class).readValue(body, 0, length);
+        });
         log.info("username{}, age={}", helloData.getUsername(), helloData.getAge());
 
         response.getWriter().write("ok");
@@ -57,8 +72,8 @@ public class RequestBodyJsonController {
         // @RequestBody 를 사용해서 HTTP 메시지에서 데이터를 꺼내고 messageBody 에 저장한다
         log.info("messageBody={}", messageBody);
 
-        // 문자로된 JSON 데이터인 messageBody 를 objectMapper 를 통해서 자바 객체로 변환한다
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        // 문자로된 JSON 데이터인 messageBody 를 ObjectReader 를 통해서 자바 객체로 변환한다
+        HelloData helloData = codecRegistry.reader(HelloData.class).readValue(messageBody);
         log.info("username{}, age={}", helloData.getUsername(), helloData.getAge());
 
         return "ok";
@@ -86,6 +101,33 @@ public class RequestBodyJsonController {
         return "ok";
     }
 
+    /**
+     * V3 비동기 : 메시지 바디 -> HelloData 변환까지는 톰캣 요청 스레드에서 끝나고, 그 뒤 처리만 비동기로 한다
+     * delayMs : 처리 중에 호출하는 느린 의존성(SlowDependency)의 응답 시간, 부하 테스트용
+     *
+     * Callable : 비동기 실행기(mvc-async-) 스레드가 블로킹 호출을 기다린다
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-v3-callable")
+    public Callable<String> requestBodyJsonV3Callable(@RequestBody HelloData data,
+                                                      @RequestParam(defaultValue = "0") long delayMs) {
+        return () -> slowDependency.call(delayMs, () -> {
+            log.info("username{}, age={}", data.getUsername(), data.getAge());
+            return "ok";
+        });
+    }
+
+    // CompletableFuture : 논블로킹 호출이 끝나면 그 스레드에서 응답을 이어서 만든다. 기다리는 동안 잡고 있는 스레드가 없다
+    @ResponseBody
+    @PostMapping("/request-body-json-v3-future")
+    public CompletableFuture<String> requestBodyJsonV3Future(@RequestBody HelloData data,
+                                                             @RequestParam(defaultValue = "0") long delayMs) {
+        return slowDependency.callAsync(delayMs, () -> {
+            log.info("username{}, age={}", data.getUsername(), data.getAge());
+            return "ok";
+        });
+    }
+
     @ResponseBody
     @PostMapping("/request-body-json-v4")
     public String requestBodyJsonV4(HttpEntity<HelloData> data) {
@@ -106,4 +148,82 @@ public class RequestBodyJsonController {
         log.info("username{}, age={}", data.getUsername(), data.getAge());
         return data;
     }
+
+    /**
+     * 대용량 JSON 스트리밍 처리
+     * - JSON 배열 [{...}, {...}] 또는 NDJSON {...}\n{...} 모두 허용
+     * - V1, V2 처럼 메시지 바디 전체를 문자열로 복사하지 않고, ServletInputStream 에서 레코드 단위로 바로 읽는다
+     * ==> 입력 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-stream")
+    public String requestBodyJsonStream(HttpServletRequest request) throws IOException {
+
+        long start = System.nanoTime();
+        long count = 0;
+
+        try (JsonRecordReader<HelloData> reader =
+                     new JsonRecordReader<>(codecRegistry.reader(HelloData.class), request.getInputStream())) {
+            HelloData helloData;
+            while ((helloData = reader.read()) != null) {
+                // 레코드마다 info 로그를 남기면 로그 비용이 처리 비용보다 커지므로 trace 로 남긴다
+                log.trace("username{}, age={}", helloData.getUsername(), helloData.getAge());
+                count++;
+            }
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        long recordsPerSec = count * 1_000_000_000L / elapsedNanos;
+        log.info("count={}, elapsedMs={}, recordsPerSec={}", count, elapsedNanos / 1_000_000, recordsPerSec);
+
+        return "ok count=" + count + ", recordsPerSec=" + recordsPerSec;
+    }
+
+    /**
+     * 배치 처리 : 요청 1번에 HelloData 여러 건
+     * - 요청 : JSON 배열 [{...}, {...}] 또는 NDJSON {...}\n{...}
+     * - 응답 : 레코드별 처리 결과를 NDJSON 으로, 묶음(chunk)이 끝날 때마다 바로 내보낸다
+     * ex) {"index":0,"ok":true,"username":"hello","age":20,"message":null}
+     * - 마지막 줄은 항상 요약(BatchSummary)이다. 첫 묶음을 내보낸 뒤에는 상태 코드를 바꿀 수 없으므로,
+     *   입력 파싱 오류나 처리 실패는 요약 줄의 ok=false, error 로 알린다
+     * ex) {"summary":true,"count":1024,"ok":false,"error":"..."}
+     */
+    @PostMapping("/request-body-json-batch")
+    public void requestBodyJsonBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ServletOutputStream outputStream = response.getOutputStream();
+
+        // 실패했을 때도 몇 건까지 내보냈는지 요약에 남기기 위해 직접 센다
+        long[] written = new long[1];
+        BatchSummary summary;
+        try (JsonRecordReader<HelloData> reader =
+                     new JsonRecordReader<>(codecRegistry.reader(HelloData.class), request.getInputStream())) {
+            batchProcessor.process(reader, results -> {
+                for (BatchItemResult result : results) {
+                    // writeValue(OutputStream) 는 쓰고 나서 스트림을 닫으므로 바이트로 만들어서 직접 쓴다
+                    outputStream.write(codecRegistry.writer(BatchItemResult.class).writeValueAsBytes(result));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                written[0] += results.size();
+            });
+            summary = BatchSummary.ok(written[0]);
+        } catch (IOException e) {
+            log.warn("batch failed count={}", written[0], e);
+            summary = BatchSummary.error(written[0], e.getMessage());
+        }
+
+        try {
+            outputStream.write(codecRegistry.writer(BatchSummary.class).writeValueAsBytes(summary));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우 요약도 보낼 수 없다
+            log.warn("batch summary not sent count={}", written[0], e);
+            return;
+        }
+        log.info("batch count={}, ok={}", summary.getCount(), summary.isOk());
+    }
 }
@@ -1,12 +1,18 @@
 package hello.springmvc.basic.request;
 
+import hello.springmvc.basic.buffer.ByteBufferPool;
+import hello.springmvc.basic.buffer.PooledBodyReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -14,17 +20,34 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
 
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyStringController {
 
+    private final ByteBufferPool bufferPool;
+    private final PooledBodyReader bodyReader;
+
+    // spool=true 로 임시 파일에 저장할 수 있는 최대 바이트 수 (넘으면 413)
+    @Value("${hello.request-body.max-spool-size:104857600}")
+    private long maxSpoolSize;
+
     @PostMapping("/request-body-string-v1")
     public void requestBodyString(HttpServletRequest request, HttpServletResponse response) throws IOException {
 
         ServletInputStream inputStream = request.getInputStream();
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        // StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8) 과 같지만, 풀 버퍼에 읽어서 String 하나만 만든다
+        String messageBody = bodyReader.readString(inputStream, request.getContentLengthLong(), StandardCharsets.UTF_8);
         // Stream은 바이트 코드라서 문자로 바꿀 때는 어떤 인코딩을 지정해서 바꿀지 명시해줘야 한다
 
         log.info("messageBody={}", messageBody);
@@ -39,7 +62,7 @@ public class RequestBodyStringController {
     @PostMapping("/request-body-string-v2")
     public void requestBodyStringV2(InputStream inputStream, Writer responseWriter) throws IOException {
 
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        String messageBody = bodyReader.readString(inputStream, -1, StandardCharsets.UTF_8); // 길이를 모르면 버퍼를 키워가며 읽는다
 
         log.info("messageBody={}", messageBody);
         responseWriter.write("ok");
@@ -81,6 +104,82 @@ public class RequestBodyStringController {
         log.info("messageBody={}", messageBody);
         return "ok";
     }
+
+    /**
+     * 바이너리 메시지 바디 처리 - 문자(String)로 변환하지 않는다
+     * - spool=false : ReadableByteChannel 로 풀링된 direct ByteBuffer 에 읽으면서 바이트 수와 CRC32 만 계산한다
+     * - spool=true  : FileChannel.transferFrom 으로 임시 파일에 바로 저장하고, 저장한 파일의 바이트 수와 CRC32 를 계산한다 (파일은 응답 후 삭제)
+     *                 최대 hello.request-body.max-spool-size 바이트까지, 넘으면 413
+     */
+    @PostMapping("/request-body-bytes")
+    public void requestBodyBytes(HttpServletRequest request, HttpServletResponse response,
+                                 @RequestParam(defaultValue = "false") boolean spool) throws IOException {
+
+        long contentLength = request.getContentLengthLong(); // 모르면 -1
+        ReadableByteChannel channel = Channels.newChannel(request.getInputStream());
+
+        String result = spool ? spoolToFile(channel, contentLength) : checksum(channel);
+        log.info("contentLength={}, {}", contentLength, result);
+        response.getWriter().write("ok " + result);
+    }
+
+    private String checksum(ReadableByteChannel channel) throws IOException {
+        CRC32 crc32 = new CRC32();
+        long bytes = 0;
+
+        ByteBuffer buffer = bufferPool.acquire();
+        try {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                crc32.update(buffer); // direct 버퍼는 힙으로 복사하지 않고 바로 계산한다
+                buffer.clear();
+                bytes += read;
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+        return "bytes=" + bytes + ", crc32=" + Long.toHexString(crc32.getValue());
+    }
+
+    private String spoolToFile(ReadableByteChannel channel, long contentLength) throws IOException {
+        if (contentLength > maxSpoolSize) {
+            // 바디를 읽기 전에 거절한다
+            throw payloadTooLarge();
+        }
+        Path file = Files.createTempFile("request-body-", ".bin");
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Content-Length 를 알면 파일 크기를 미리 늘려둔다. 위에서 maxSpoolSize 로 잘랐으므로 큰 값을 보내도 그 이상은 잡지 않는다
+            if (contentLength > 0) {
+                fileChannel.write(ByteBuffer.wrap(new byte[1]), contentLength - 1);
+            }
+
+            // Content-Length 는 클라이언트가 보낸 값이라 믿지 않는다. 실제로 받은 바이트로 제한을 확인한다
+            long bytes = 0;
+            long transferred;
+            while (bytes <= maxSpoolSize
+                    && (transferred = fileChannel.transferFrom(channel, bytes,
+                    Math.min(bufferPool.getBufferSize(), maxSpoolSize + 1 - bytes))) > 0) {
+                bytes += transferred;
+            }
+            if (bytes > maxSpoolSize) {
+                throw payloadTooLarge();
+            }
+            // 미리 늘려둔 크기보다 적게 받았으면 받은 만큼으로 줄인다
+            fileChannel.truncate(bytes);
+
+            // 저장한 파일을 다시 읽어서 체크섬을 낸다 (서버 경로는 응답에 넣지 않는다)
+            fileChannel.position(0);
+            return checksum(fileChannel);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private ResponseStatusException payloadTooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "요청 바디가 너무 큽니다. max=" + maxSpoolSize + " bytes");
+    }
 }
 
 // @RequestBody
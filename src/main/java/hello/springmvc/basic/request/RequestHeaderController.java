@@ -1,5 +1,6 @@
 package hello.springmvc.basic.request;
 
+import hello.springmvc.basic.request.header.LazyHeaders;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
 import org.springframework.util.MultiValueMap;
@@ -35,6 +36,21 @@ public class RequestHeaderController {
 
         return "ok";
     }
+
+    /**
+     * 필요한 헤더만 읽는 버전
+     * LazyHeaders 는 전체 헤더 맵, Locale 을 미리 만들지 않고 get(), getLocale() 을 호출할 때 읽는다.
+     * 여기서는 host, myCookie 만 읽으므로 나머지 헤더는 String 으로 만들어지지도 않는다.
+     */
+    @RequestMapping("/headers-lazy")
+    public String headersLazy(LazyHeaders headers) {
+        log.info("header host={}", headers.get("host"));      // header host=localhost:8080
+        log.info("myCookie={}", headers.getCookie("myCookie")); // myCookie=null
+        if (log.isDebugEnabled()) {
+            log.debug("httpMethod={}, locale={}", headers.getMethod(), headers.getLocale());
+        }
+        return "ok";
+    }
 }
 
 /**
@@ -50,4 +66,7 @@ public class RequestHeaderController {
 
  * 5) @CookieValue(value = "myCookie", required = false) String cookie : 특정 쿠키를 조회한다.
  * ==> 속성 필수 값 여부 : required / 기본 값 속성 : defaultValue
+
+ * 6) LazyHeaders headers : 헤더를 복사하지 않고 필요한 것만 조회한다. (LazyHeadersArgumentResolver)
+ * ==> Locale 까지 미루려면 hello.headers.lazy-locale=true (LazyLocaleRequestContextFilter)
  */
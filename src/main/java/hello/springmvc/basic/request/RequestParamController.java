@@ -1,9 +1,14 @@
 package hello.springmvc.basic.request;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.request.bind.FastBind;
+import hello.springmvc.basic.request.form.FormReadResult;
+import hello.springmvc.basic.request.form.StreamingFormReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -11,12 +16,17 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestParamController {
 
+    private final StreamingFormReader formReader;
+
     /**
      * 반환 타입이 없으면서 이렇게 응답에 값을 직접 집어 넣으면, view 조회X
      */
@@ -152,4 +162,44 @@ public class RequestParamController {
 
         return "ok";
     }
+
+    /**
+     * @FastBind 사용 - @ModelAttribute 와 같은 결과, 바인딩 과정만 다르다
+     * WebDataBinder(BeanWrapper, 타입 변환) 대신 타입별로 미리 만든 MethodHandle 로 setter 를 바로 호출한다
+     */
+    @ResponseBody
+    @RequestMapping("/model-attribute-fast")
+    public String modelAttributeFast(@FastBind HelloData helloData) {
+
+        log.info("username={}, age={}", helloData.getUsername(), helloData.getAge());
+
+        return "ok";
+    }
+
+    /**
+     * 대용량 폼 / 파일 업로드 - 스트리밍 파싱 (StreamingFormReader)
+     * request.getParameter() 를 쓰지 않고 메시지 바디를 읽으면서 필드, 파일 파트를 하나씩 처리한다.
+     * - application/x-www-form-urlencoded, multipart/form-data 모두 지원
+     * - 큰 파일 파트는 임시 파일로 옮겨 쓰고, 응답 후 지운다
+     * - 응답 : 필드 수, 파트 정보, 읽은 바이트 수, 파싱 처리량(MB/s)
+     * 크기 제한(hello.form.*)을 넘으면 413
+     */
+    @ResponseBody
+    @PostMapping("/request-param-stream")
+    public Map<String, Object> requestParamStream(HttpServletRequest request) throws IOException {
+        try (FormReadResult form = formReader.read(request)) {
+            log.info("fields={}, parts={}, bytes={}, MB/s={}", form.getFields().size(), form.getParts().size(),
+                    form.getBytes(), String.format("%.1f", form.getMegabytesPerSecond()));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("username", form.getFields().getFirst("username"));
+            report.put("age", form.getFields().getFirst("age"));
+            report.put("fieldCount", form.getFields().values().stream().mapToInt(List::size).sum());
+            report.put("parts", form.getParts());
+            report.put("bytes", form.getBytes());
+            report.put("elapsedMs", form.getElapsedNanos() / 1_000_000.0);
+            report.put("megabytesPerSecond", form.getMegabytesPerSecond());
+            return report;
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package hello.springmvc.basic.request.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @ModelAttribute 대신 사용하는 빠른 요청 파라미터 바인딩
+ * - 요청 파라미터 이름으로 객체의 setter 를 찾아서 값을 넣는 것은 @ModelAttribute 와 같다
+ * - WebDataBinder, BeanWrapper, 타입 변환 서비스를 거치지 않고, 타입별로 미리 만들어둔 MethodHandle 로 바로 setter 를 호출한다
+ * - 지원 타입 : String, int, long, boolean (및 래퍼 타입). 검증(@Validated), BindingResult 는 지원하지 않는다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FastBind {
+}
@@ -0,0 +1,42 @@
+package hello.springmvc.basic.request.bind;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @FastBind 파라미터를 처리하는 ArgumentResolver
+ * 타입별 PrecompiledBinder 는 처음 한 번만 만들고 재사용한다.
+ */
+@Component
+public class FastBindArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final Map<Class<?>, PrecompiledBinder<?>> binders = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(FastBind.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return binder(parameter.getParameterType()).bind(request);
+    }
+
+    private PrecompiledBinder<?> binder(Class<?> type) {
+        PrecompiledBinder<?> binder = binders.get(type);
+        if (binder != null) {
+            return binder;
+        }
+        return binders.computeIfAbsent(type, PrecompiledBinder::new);
+    }
+}
@@ -0,0 +1,162 @@
+package hello.springmvc.basic.request.bind;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.web.bind.ServletRequestBindingException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 타입 하나에 대한 요청 파라미터 바인더
+ * 생성자와 setter 를 MethodHandle 로 한 번만 찾아두고, 요청마다 request.getParameter() 값을 바로 넣는다.
+ * (파라미터 Map 복사, BeanWrapper 생성, PropertyEditor/ConversionService 조회가 없다)
+ */
+public class PrecompiledBinder<T> {
+
+    private static final MethodType REFERENCE_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+
+    public PrecompiledBinder(Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+
+            List<Property> found = new ArrayList<>();
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+                Method setter = descriptor.getWriteMethod();
+                Kind kind = Kind.of(descriptor.getPropertyType());
+                if (setter == null || kind == null) {
+                    continue;
+                }
+                MethodHandle handle = lookup.unreflect(setter).asType(kind.setterType);
+                found.add(new Property(descriptor.getName(), kind, handle));
+            }
+            this.properties = found.toArray(new Property[0]);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("바인딩할 수 없는 타입입니다. public 기본 생성자와 setter 가 필요합니다. type=" + type, e);
+        }
+    }
+
+    public T bind(HttpServletRequest request) throws ServletRequestBindingException {
+        Object target;
+        try {
+            target = (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("객체 생성 실패. type=" + type, e);
+        }
+
+        for (Property property : properties) {
+            String value = request.getParameter(property.name);
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            try {
+                property.set(target, value);
+            } catch (IllegalArgumentException e) {
+                throw new ServletRequestBindingException(
+                        "요청 파라미터 타입이 맞지 않습니다. name=" + property.name + ", value=" + value);
+            }
+        }
+        return type.cast(target);
+    }
+
+    private enum Kind {
+        STRING(REFERENCE_SETTER),
+        INT(MethodType.methodType(void.class, Object.class, int.class)),
+        LONG(MethodType.methodType(void.class, Object.class, long.class)),
+        BOOLEAN(MethodType.methodType(void.class, Object.class, boolean.class)),
+        INTEGER_OBJECT(REFERENCE_SETTER),
+        LONG_OBJECT(REFERENCE_SETTER),
+        BOOLEAN_OBJECT(REFERENCE_SETTER);
+
+        private final MethodType setterType;
+
+        Kind(MethodType setterType) {
+            this.setterType = setterType;
+        }
+
+        private static Kind of(Class<?> propertyType) {
+            if (propertyType == String.class) return STRING;
+            if (propertyType == int.class) return INT;
+            if (propertyType == long.class) return LONG;
+            if (propertyType == boolean.class) return BOOLEAN;
+            if (propertyType == Integer.class) return INTEGER_OBJECT;
+            if (propertyType == Long.class) return LONG_OBJECT;
+            if (propertyType == Boolean.class) return BOOLEAN_OBJECT;
+            return null;
+        }
+    }
+
+    private static class Property {
+        private final String name;
+        private final Kind kind;
+        private final MethodHandle setter;
+
+        private Property(String name, Kind kind, MethodHandle setter) {
+            this.name = name;
+            this.kind = kind;
+            this.setter = setter;
+        }
+
+        /**
+         * invokeExact 는 호출 시그니처가 정확히 같아야 하므로 타입별로 나눠서 호출한다 (박싱 없이 int, long 그대로 전달)
+         */
+        private void set(Object target, String value) {
+            try {
+                switch (kind) {
+                    case STRING:
+                        setter.invokeExact(target, (Object) value);
+                        break;
+                    case INT:
+                        setter.invokeExact(target, Integer.parseInt(value.trim()));
+                        break;
+                    case LONG:
+                        setter.invokeExact(target, Long.parseLong(value.trim()));
+                        break;
+                    case BOOLEAN:
+                        setter.invokeExact(target, parseBoolean(value));
+                        break;
+                    case INTEGER_OBJECT:
+                        setter.invokeExact(target, (Object) Integer.valueOf(value.trim()));
+                        break;
+                    case LONG_OBJECT:
+                        setter.invokeExact(target, (Object) Long.valueOf(value.trim()));
+                        break;
+                    case BOOLEAN_OBJECT:
+                        setter.invokeExact(target, (Object) parseBoolean(value));
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                throw e; // NumberFormatException 포함, 요청 값이 잘못됨
+            } catch (Throwable e) {
+                throw new IllegalStateException("setter 호출 실패. property=" + name, e);
+            }
+        }
+
+        /**
+         * Boolean.parseBoolean 은 true 가 아니면 전부 false 로 바꾸므로 쓰지 않는다. (age=abc 같은 값이 false 가 된다)
+         * true / false (대소문자 무시) 만 받고, 나머지는 int, long 과 같이 400 으로 거절한다
+         */
+        private static boolean parseBoolean(String value) {
+            String trimmed = value.trim();
+            if ("true".equalsIgnoreCase(trimmed)) {
+                return true;
+            }
+            if ("false".equalsIgnoreCase(trimmed)) {
+                return false;
+            }
+            throw new IllegalArgumentException("boolean 값이 아닙니다. value=" + value);
+        }
+    }
+}
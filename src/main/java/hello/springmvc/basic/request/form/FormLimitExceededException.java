@@ -0,0 +1,21 @@
+package hello.springmvc.basic.request.form;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+
+/**
+ * 폼 필드 / 파일 파트 / 요청 전체 크기 제한 초과 ==> 413 Payload Too Large
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class FormLimitExceededException extends IOException {
+
+    public FormLimitExceededException(String message) {
+        super(message);
+    }
+
+    public FormLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
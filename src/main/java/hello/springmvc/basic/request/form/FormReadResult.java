@@ -0,0 +1,51 @@
+package hello.springmvc.basic.request.form;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StreamingFormReader 결과 : 필드, 파일 파트, 읽은 바이트 수와 처리량
+ * close() 하면 임시 파일로 저장된 파트를 지운다.
+ */
+@Slf4j
+@Getter
+public class FormReadResult implements Closeable {
+
+    private final MultiValueMap<String, String> fields = new LinkedMultiValueMap<>();
+    private final List<SpooledPart> parts = new ArrayList<>();
+    private long bytes;
+    private long elapsedNanos;
+
+    void complete(long bytes, long elapsedNanos) {
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 파싱 처리량 (MB/s)
+     */
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes / (elapsedNanos / 1_000_000_000.0) / (1024 * 1024);
+    }
+
+    @Override
+    public void close() {
+        for (SpooledPart part : parts) {
+            if (part.isSpooled()) {
+                try {
+                    Files.deleteIfExists(part.getFile());
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패. file={}", part.getFile(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hello.springmvc.basic.request.form;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * multipart 파일 파트 하나
+ * 메모리 임계값(버퍼 하나 크기)보다 크면 임시 파일(file)에 저장되어 있고, 작으면 file 은 null
+ */
+@Value
+public class SpooledPart {
+    String name;
+    String filename;
+    String contentType;
+    long size;
+    String crc32;
+    @JsonIgnore
+    Path file;
+
+    public boolean isSpooled() {
+        return file != null;
+    }
+}
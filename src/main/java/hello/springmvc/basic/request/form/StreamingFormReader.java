@@ -0,0 +1,233 @@
+package hello.springmvc.basic.request.form;
+
+import hello.springmvc.basic.buffer.ByteBufferPool;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.servlet.ServletRequestContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 폼(application/x-www-form-urlencoded, multipart/form-data) 메시지 바디를 스트림으로 읽는다.
+ * - urlencoded : UrlEncodedFormParser 로 필드 단위 파싱
+ * - multipart  : commons-fileupload 스트리밍 API (FileItemIterator) 로 파트를 하나씩 읽는다
+ *   파일 파트는 풀링된 버퍼 하나 크기까지는 메모리에서, 넘으면 FileChannel 로 임시 파일에 옮겨 쓴다.
+ *
+ * 요청 스트림을 필요한 만큼만 읽으므로 디스크 쓰기가 느리면 읽기도 멈추고, 클라이언트는 TCP 흐름 제어로 전송 속도가 줄어든다.
+ * ==> 메모리에 쌓아두는 양은 (버퍼 하나 + 필드 하나) 를 넘지 않는다.
+ *
+ * request.getParameter(), getParts() 를 먼저 호출하면 서블릿 컨테이너가 바디를 다 읽어버리므로 사용하면 안 된다.
+ * (multipart 는 spring.servlet.multipart.resolve-lazily=true 로 스프링이 미리 파싱하지 않게 한다)
+ */
+@Component
+public class StreamingFormReader {
+
+    private final ByteBufferPool bufferPool;
+    private final int maxFieldBytes;
+    private final int maxFields;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+    private final Path spoolDirectory;
+
+    public StreamingFormReader(ByteBufferPool bufferPool,
+                               @Value("${hello.form.max-field-size:65536}") int maxFieldBytes,
+                               @Value("${hello.form.max-fields:10000}") int maxFields,
+                               @Value("${hello.form.max-file-size:104857600}") long maxFileSize,
+                               @Value("${hello.form.max-request-size:1073741824}") long maxRequestSize,
+                               @Value("${hello.form.spool-directory:${java.io.tmpdir}}") String spoolDirectory) {
+        this.bufferPool = bufferPool;
+        this.maxFieldBytes = maxFieldBytes;
+        this.maxFields = maxFields;
+        this.maxFileSize = maxFileSize;
+        this.maxRequestSize = maxRequestSize;
+        this.spoolDirectory = Paths.get(spoolDirectory);
+    }
+
+    public FormReadResult read(HttpServletRequest request) throws IOException {
+        long start = System.nanoTime();
+        FormReadResult result = new FormReadResult();
+        try {
+            if (ServletFileUpload.isMultipartContent(request)) {
+                // multipart 크기 제한은 commons-fileupload 의 setSizeMax 로 건다.
+                // 스트림에서 직접 예외를 던지면 파트 헤더를 읽는 중에는 MalformedStreamException 으로 감싸져서 500 이 된다.
+                CountingInputStream inputStream = new CountingInputStream(request.getInputStream(), Long.MAX_VALUE);
+                readMultipart(request, inputStream, result);
+                result.complete(inputStream.count, System.nanoTime() - start);
+            } else {
+                CountingInputStream inputStream = new CountingInputStream(request.getInputStream(), maxRequestSize);
+                new UrlEncodedFormParser(maxFieldBytes, maxFields)
+                        .parse(inputStream, charset(request), result.getFields()::add);
+                result.complete(inputStream.count, System.nanoTime() - start);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            result.close(); // 이미 저장한 임시 파일 정리
+            throw e;
+        }
+    }
+
+    private void readMultipart(HttpServletRequest request, InputStream inputStream, FormReadResult result) throws IOException {
+        ServletFileUpload upload = new ServletFileUpload();
+        upload.setFileSizeMax(maxFileSize);
+        upload.setSizeMax(maxRequestSize);
+        try {
+            FileItemIterator items = upload.getItemIterator(new ServletRequestContext(request) {
+                @Override
+                public InputStream getInputStream() {
+                    return inputStream;
+                }
+            });
+            int fields = 0;
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                if (++fields > maxFields) {
+                    throw new FormLimitExceededException("폼 파트 수가 너무 많습니다. max=" + maxFields);
+                }
+                try (InputStream partStream = item.openStream()) {
+                    if (item.isFormField()) {
+                        result.getFields().add(item.getFieldName(), readField(partStream, charset(request)));
+                    } else {
+                        result.getParts().add(spool(item, partStream));
+                    }
+                }
+            }
+        } catch (FileUploadBase.FileSizeLimitExceededException | FileUploadBase.SizeLimitExceededException e) {
+            throw new FormLimitExceededException(e.getMessage(), e);
+        } catch (FileUploadBase.FileUploadIOException e) {
+            throw new FormLimitExceededException(e.getCause().getMessage(), e.getCause());
+        } catch (FileUploadException e) {
+            throw new IOException("multipart 파싱 실패", e);
+        }
+    }
+
+    private String readField(InputStream partStream, Charset charset) throws IOException {
+        byte[] value = partStream.readNBytes(maxFieldBytes + 1);
+        if (value.length > maxFieldBytes) {
+            throw new FormLimitExceededException("폼 필드가 너무 큽니다. max=" + maxFieldBytes + " bytes");
+        }
+        return new String(value, charset);
+    }
+
+    /**
+     * 버퍼가 가득 찰 때까지는 메모리에서 읽고, 가득 차면 그때 임시 파일을 만들어 FileChannel 로 옮겨 쓴다.
+     */
+    private SpooledPart spool(FileItemStream item, InputStream partStream) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(partStream);
+        CRC32 crc32 = new CRC32();
+        long size = 0;
+        Path file = null;
+        FileChannel fileChannel = null;
+
+        ByteBuffer buffer = bufferPool.acquire();
+        try {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                size += read;
+                if (buffer.hasRemaining()) {
+                    continue;
+                }
+                if (fileChannel == null) {
+                    file = Files.createTempFile(spoolDirectory, "form-part-", ".bin");
+                    fileChannel = FileChannel.open(file, StandardOpenOption.WRITE);
+                }
+                drain(buffer, crc32, fileChannel);
+            }
+            drain(buffer, crc32, fileChannel);
+        } catch (IOException | RuntimeException e) {
+            if (file != null) {
+                closeQuietly(fileChannel);
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        } finally {
+            bufferPool.release(buffer);
+            closeQuietly(fileChannel);
+        }
+        String filename = StringUtils.getFilename(item.getName());
+        return new SpooledPart(item.getFieldName(), filename, item.getContentType(), size,
+                Long.toHexString(crc32.getValue()), file);
+    }
+
+    private static void drain(ByteBuffer buffer, CRC32 crc32, FileChannel fileChannel) throws IOException {
+        buffer.flip();
+        crc32.update(buffer.duplicate());
+        while (fileChannel != null && buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignored) {
+                // 이미 닫힘
+            }
+        }
+    }
+
+    private static Charset charset(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    /**
+     * 읽은 바이트 수를 세고, 요청 전체 크기 제한을 확인한다. (제한은 urlencoded 에만 건다)
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        CountingInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                add(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                add(read);
+            }
+            return read;
+        }
+
+        private void add(int read) throws FormLimitExceededException {
+            count += read;
+            if (count > limit) {
+                throw new FormLimitExceededException("요청 바디가 너무 큽니다. max=" + limit + " bytes");
+            }
+        }
+    }
+}
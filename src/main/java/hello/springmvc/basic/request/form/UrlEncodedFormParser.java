@@ -0,0 +1,122 @@
+package hello.springmvc.basic.request.form;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * application/x-www-form-urlencoded 메시지 바디를 스트림으로 읽으면서 필드 단위로 넘겨준다.
+ * - request.getParameter() : 톰캣이 바디 전체를 byte[] 로 읽어 두고 모든 파라미터를 맵에 담는다
+ * - 이 파서 : 고정 크기 버퍼로 읽으면서 name=value 하나가 끝날 때마다 handler 를 호출한다
+ *   ==> 바디 크기와 관계없이 메모리 사용량은 (버퍼 + 필드 하나) 로 일정하다.
+ * - 퍼센트 인코딩(%XX, +)은 읽으면서 바로 바이트로 풀고, 필드가 끝날 때 charset 으로 문자열을 만든다.
+ *
+ * 스레드 안전하지 않다. 요청마다 새로 만든다.
+ */
+public class UrlEncodedFormParser {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final int maxFieldBytes;
+    private final int maxFields;
+
+    private byte[] token = new byte[256];
+    private int tokenLength;
+    private String name;
+    private int fields;
+
+    // %XX 디코딩 상태 : 0 = 일반, 1 = % 다음 첫 글자 대기, 2 = 두 번째 글자 대기
+    private int percentState;
+    private int percentHigh;
+
+    public UrlEncodedFormParser(int maxFieldBytes, int maxFields) {
+        this.maxFieldBytes = maxFieldBytes;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * @return 읽은 바이트 수
+     */
+    public long parse(InputStream inputStream, Charset charset, BiConsumer<String, String> handler) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        long bytes = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            bytes += read;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '&') {
+                    endField(charset, handler);
+                } else if (b == '=' && name == null) {
+                    checkPercentComplete();
+                    name = new String(token, 0, tokenLength, charset);
+                    tokenLength = 0;
+                } else {
+                    decode(b);
+                }
+            }
+        }
+        endField(charset, handler);
+        return bytes;
+    }
+
+    private void endField(Charset charset, BiConsumer<String, String> handler) throws IOException {
+        checkPercentComplete();
+        if (name == null && tokenLength == 0) {
+            return; // 빈 필드 (&& 또는 끝의 &)
+        }
+        if (++fields > maxFields) {
+            throw new FormLimitExceededException("폼 필드 수가 너무 많습니다. max=" + maxFields);
+        }
+        String value = new String(token, 0, tokenLength, charset);
+        if (name == null) { // = 없이 이름만 있는 필드
+            handler.accept(value, "");
+        } else {
+            handler.accept(name, value);
+        }
+        name = null;
+        tokenLength = 0;
+    }
+
+    private void decode(byte b) throws IOException {
+        if (percentState == 1) {
+            percentHigh = hex(b);
+            percentState = 2;
+        } else if (percentState == 2) {
+            append((byte) ((percentHigh << 4) | hex(b)));
+            percentState = 0;
+        } else if (b == '%') {
+            percentState = 1;
+        } else if (b == '+') {
+            append((byte) ' ');
+        } else {
+            append(b);
+        }
+    }
+
+    private void append(byte b) throws FormLimitExceededException {
+        if (tokenLength == token.length) {
+            if (tokenLength >= maxFieldBytes) {
+                throw new FormLimitExceededException("폼 필드가 너무 큽니다. max=" + maxFieldBytes + " bytes");
+            }
+            token = Arrays.copyOf(token, Math.min(token.length * 2, maxFieldBytes));
+        }
+        token[tokenLength++] = b;
+    }
+
+    private void checkPercentComplete() throws IOException {
+        if (percentState != 0) {
+            throw new IOException("잘못된 퍼센트 인코딩입니다.");
+        }
+    }
+
+    private static int hex(byte b) throws IOException {
+        int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            throw new IOException("잘못된 퍼센트 인코딩입니다. char=" + (char) b);
+        }
+        return digit;
+    }
+}
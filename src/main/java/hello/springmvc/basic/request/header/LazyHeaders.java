@@ -0,0 +1,93 @@
+package hello.springmvc.basic.request.header;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 필요한 헤더만 그때그때 읽는 헤더 뷰 (컨트롤러 파라미터로 받는다)
+ * - @RequestHeader MultiValueMap : 요청마다 모든 헤더 이름/값을 String 으로 꺼내서 새 맵에 복사한다
+ * - LazyHeaders : 복사하지 않고 request.getHeader() 에 위임한다
+ *   톰캣은 헤더를 바이트(MimeHeaders) 그대로 들고 있다가 getHeader() 로 찾은 헤더만 String 으로 만든다.
+ * - Locale 은 getLocale() 을 호출할 때 처음 한 번만 LocaleResolver 로 찾는다.
+ *
+ * 요청 스레드 안에서만 사용한다. (스레드 안전하지 않음)
+ */
+public class LazyHeaders {
+
+    private final HttpServletRequest request;
+    private Locale locale;
+
+    public LazyHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * @return 첫 번째 값, 없으면 null (헤더 이름은 대소문자 구분 없음)
+     */
+    public String get(String name) {
+        return request.getHeader(name);
+    }
+
+    public List<String> getAll(String name) {
+        Enumeration<String> values = request.getHeaders(name);
+        return values == null ? Collections.emptyList() : Collections.list(values);
+    }
+
+    public boolean contains(String name) {
+        return request.getHeader(name) != null;
+    }
+
+    public HttpMethod getMethod() {
+        return HttpMethod.resolve(request.getMethod());
+    }
+
+    public Locale getLocale() {
+        if (locale == null) {
+            locale = RequestContextUtils.getLocale(request);
+        }
+        return locale;
+    }
+
+    /**
+     * @return 쿠키 값, 없으면 null
+     */
+    public String getCookie(String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(name)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 전체 헤더가 정말 필요할 때만 복사한다 (ex. 디버그 로그)
+     */
+    public MultiValueMap<String, String> toMultiValueMap() {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            headers.put(name, getAll(name));
+        }
+        return headers;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyHeaders(" + request.getMethod() + " " + request.getRequestURI() + ")";
+    }
+}
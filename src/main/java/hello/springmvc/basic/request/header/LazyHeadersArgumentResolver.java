@@ -0,0 +1,29 @@
+package hello.springmvc.basic.request.header;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * LazyHeaders 타입 파라미터를 처리하는 ArgumentResolver
+ * 요청을 감싸기만 하므로 헤더 수와 관계없이 비용이 일정하다.
+ */
+@Component
+public class LazyHeadersArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == LazyHeaders.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return new LazyHeaders(webRequest.getNativeRequest(HttpServletRequest.class));
+    }
+}
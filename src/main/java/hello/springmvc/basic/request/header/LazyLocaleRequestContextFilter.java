@@ -0,0 +1,51 @@
+package hello.springmvc.basic.request.header;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.RequestContextFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 스프링 부트 기본 RequestContextFilter 대신 사용 (hello.headers.lazy-locale=true)
+ * 기본 필터는 요청마다 request.getLocale() 을 호출해서 Accept-Language 헤더를 파싱한다.
+ * 여기서는 LocaleContext 를 람다로 넘겨서, 누군가 Locale 을 실제로 꺼낼 때만 파싱한다.
+ *
+ * RequestContextFilter 를 상속해야 스프링 부트가 기본 필터를 등록하지 않는다. (@ConditionalOnMissingBean)
+ */
+@Component
+@ConditionalOnProperty(name = "hello.headers.lazy-locale", havingValue = "true")
+public class LazyLocaleRequestContextFilter extends RequestContextFilter implements OrderedFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request, response);
+        LocaleContextHolder.setLocaleContext(request::getLocale, false);
+        RequestContextHolder.setRequestAttributes(attributes, false);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+
+    /**
+     * 스프링 부트 기본 필터(OrderedRequestContextFilter)와 같은 순서
+     */
+    @Override
+    public int getOrder() {
+        return REQUEST_WRAPPER_FILTER_MAX_ORDER - 105;
+    }
+}
@@ -1,11 +1,31 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.async.SlowDependency;
+import hello.springmvc.basic.requestmapping.order.OrderRepository;
+import hello.springmvc.basic.requestmapping.user.User;
+import hello.springmvc.basic.requestmapping.user.UserPage;
+import hello.springmvc.basic.requestmapping.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/mapping/users")
 public class MappingClassController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final SlowDependency slowDependency;
+
     /**
      * 회원목록조회:  GET    /users
      * 회원   등록:  POST   /users
@@ -14,28 +34,123 @@ public class MappingClassController {
      * 회원   삭제:  DELETE /users/ {userId}
      */
 
+    /**
+     * 회원 목록 (userId 순, 커서 페이징)
+     * ex) /mapping/users?size=20
+     *     /mapping/users?after=userT&size=20  (after 에는 이전 페이지 응답의 next 를 넣는다)
+     */
     @GetMapping
-    public String users() {
-        return "get users";
+    public UserPage users(@RequestParam(required = false) String after,
+                          @RequestParam(defaultValue = "20") int size) {
+        return userRepository.findPage(after, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * 회원 전체 내보내기 (userId 순, 저장소 스냅샷)
+     * ex) /mapping/users?all
+     */
+    @GetMapping(params = "all")
+    public List<User> allUsers() {
+        return userRepository.snapshot();
     }
 
+    /**
+     * ex) POST /mapping/users?userId=userA&username=hello&age=20
+     * 이미 있는 userId 면 409 CONFLICT
+     */
     @PostMapping
-    public String addUser() {
-        return "post user";
+    public ResponseEntity<User> addUser(@RequestParam String userId,
+                                        @RequestParam String username,
+                                        @RequestParam(defaultValue = "0") int age) {
+        return userRepository.save(new User(userId, username, age))
+                .map(user -> new ResponseEntity<>(user, HttpStatus.CREATED))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.CONFLICT));
     }
 
     @GetMapping("/{userId}")
-    public String findUser(@PathVariable String userId) {
+    public ResponseEntity<User> findUser(@PathVariable String userId) {
+        return ResponseEntity.of(userRepository.findById(userId));
+    }
+
+    /**
+     * 느린 회원 조회 (부하 테스트용)
+     * delayMs 만큼 요청 스레드를 블로킹해서, 느린 DB/외부 API 호출을 흉내낸다.
+     * ex) /mapping/users/userA/slow?delayMs=100
+     */
+    @GetMapping("/{userId}/slow")
+    public String findUserSlow(@PathVariable String userId,
+                               @RequestParam(defaultValue = "100") long delayMs) throws InterruptedException {
+        Thread.sleep(delayMs);
         return "get userId=" + userId;
     }
 
+    /**
+     * 느린 회원 조회 - 비동기 (/{userId}/slow 와 비교)
+     * 핸들러는 바로 반환하고 톰캣 요청 스레드를 놓아준다. 결과가 나오면 ASYNC 디스패치로 응답을 쓴다.
+     * hello.async.timeout-ms 안에 끝나지 않으면 503
+     *
+     * Callable : 블로킹 호출을 비동기 실행기(mvc-async-, HandlerAsyncExecutor) 스레드가 대신 기다린다
+     * ex) /mapping/users/userA/slow-callable?delayMs=100
+     */
+    @GetMapping("/{userId}/slow-callable")
+    public Callable<ResponseEntity<User>> findUserCallable(@PathVariable String userId,
+                                                           @RequestParam(defaultValue = "100") long delayMs) {
+        return () -> slowDependency.call(delayMs, () -> ResponseEntity.of(userRepository.findById(userId)));
+    }
+
+    /**
+     * DeferredResult : 논블로킹 호출의 콜백에서 결과를 채운다. 기다리는 동안 잡고 있는 스레드가 없다
+     * ex) /mapping/users/userA/slow-deferred?delayMs=100
+     */
+    @GetMapping("/{userId}/slow-deferred")
+    public DeferredResult<ResponseEntity<User>> findUserDeferred(@PathVariable String userId,
+                                                                 @RequestParam(defaultValue = "100") long delayMs) {
+        DeferredResult<ResponseEntity<User>> result = new DeferredResult<>();
+        slowDependency.callAsync(delayMs, () -> ResponseEntity.of(userRepository.findById(userId)))
+                .whenComplete((user, e) -> {
+                    if (e != null) {
+                        result.setErrorResult(e);
+                    } else {
+                        result.setResult(user);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * CompletableFuture : DeferredResult 와 같지만, 논블로킹 호출이 돌려준 future 를 이어서(thenApply) 그대로 반환한다
+     * ex) /mapping/users/userA/slow-future?delayMs=100
+     */
+    @GetMapping("/{userId}/slow-future")
+    public CompletableFuture<ResponseEntity<User>> findUserFuture(@PathVariable String userId,
+                                                                  @RequestParam(defaultValue = "100") long delayMs) {
+        return slowDependency.callAsync(delayMs, () -> userRepository.findById(userId))
+                .thenApply(ResponseEntity::of);
+    }
+
+    /**
+     * 넘어온 값만 수정한다
+     * ex) PATCH /mapping/users/userA?age=30
+     */
     @PatchMapping("/{userId}")
-    public String updateUser(@PathVariable String userId) {
-        return "update userId=" + userId;
+    public ResponseEntity<User> updateUser(@PathVariable String userId,
+                                           @RequestParam(required = false) String username,
+                                           @RequestParam(required = false) Integer age) {
+        return ResponseEntity.of(userRepository.update(userId, user -> {
+            User updated = username == null ? user : user.withUsername(username);
+            return age == null ? updated : updated.withAge(age);
+        }));
     }
 
+    /**
+     * 회원을 삭제하면 회원의 주문도 함께 지운다
+     * 회원 삭제와 같은 compute 안에서 지우므로, 동시에 들어온 주문 등록(MappingController.addOrder)은
+     * 삭제 전에 끝나서 함께 지워지거나, 삭제 후에 실행되어 404 가 된다.
+     */
     @DeleteMapping("/{userId}")
-    public String deleteUser(@PathVariable String userId) {
-        return "delete userId=" + userId;
+    public ResponseEntity<Void> deleteUser(@PathVariable String userId) {
+        return userRepository.delete(userId, user -> orderRepository.deleteByUserId(userId))
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
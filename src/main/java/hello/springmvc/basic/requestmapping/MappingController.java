@@ -1,15 +1,30 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.basic.requestmapping.order.Order;
+import hello.springmvc.basic.requestmapping.order.OrderRepository;
+import hello.springmvc.basic.requestmapping.user.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 public class MappingController {
 
     private Logger log = LoggerFactory.getLogger(getClass());
 
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+
+    public MappingController(OrderRepository orderRepository, UserRepository userRepository) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+    }
+
     /**
      * 기본 요청
      * /hello-basic, /hello-basic/ => 둘 다 허용
@@ -61,11 +76,46 @@ public class MappingController {
 
     /**
      * PathVariable 사용 다중
+     * orderId 를 long 으로 받아서 주문 저장소(long key 맵) 조회 경로에서는 박싱하지 않는다.
+     * (핸들러 메서드를 리플렉션으로 호출할 때 인자 배열에 한 번 Long 으로 박싱되는 것은 피할 수 없다)
+     * 없는 주문이면 404
      */
     @GetMapping("/mapping/users/{userId}/orders/{orderId}")
-    public String mappingPath(@PathVariable String userId, @PathVariable Long orderId) {
-        log.info("mappingPath userId={}, orderId={}", userId, orderId);
-        return "ok";
+    public ResponseEntity<Order> mappingPath(@PathVariable String userId, @PathVariable long orderId) {
+        if (log.isDebugEnabled()) {
+            log.debug("mappingPath userId={}, orderId={}", userId, orderId);
+        }
+        Order order = orderRepository.findById(userId, orderId);
+        return order == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(order);
+    }
+
+    @GetMapping("/mapping/users/{userId}/orders")
+    public List<Order> orders(@PathVariable String userId) {
+        return orderRepository.findByUserId(userId);
+    }
+
+    /**
+     * 주문 등록, orderId 는 자동 증가
+     * 없는 회원이면 404 (임의의 userId 로 주문 맵이 계속 늘어나지 않게)
+     * 회원 확인과 저장을 회원 저장소의 compute 안에서 함께 해서, 도중에 회원이 삭제되어 주문만 남는 일이 없다.
+     * (회원 삭제도 같은 compute 안에서 주문을 지운다. MappingClassController.deleteUser)
+     * ex) POST /mapping/users/userA/orders?itemName=itemA&price=10000&quantity=1
+     */
+    @PostMapping("/mapping/users/{userId}/orders")
+    public ResponseEntity<Order> addOrder(@PathVariable String userId,
+                                          @RequestParam String itemName,
+                                          @RequestParam int price,
+                                          @RequestParam(defaultValue = "1") int quantity) {
+        return userRepository.withUser(userId, user -> orderRepository.save(userId, itemName, price, quantity))
+                .map(order -> new ResponseEntity<>(order, HttpStatus.CREATED))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/mapping/users/{userId}/orders/{orderId}")
+    public ResponseEntity<Void> deleteOrder(@PathVariable String userId, @PathVariable long orderId) {
+        return orderRepository.delete(userId, orderId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     /**
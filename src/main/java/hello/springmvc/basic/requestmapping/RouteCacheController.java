@@ -0,0 +1,36 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 경로 -> 핸들러 조회 캐시 현황 (hit / miss / size)
+ * ex) {"enabled":true,"hits":120,"misses":3,"size":3}
+ */
+@RestController
+public class RouteCacheController {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    public RouteCacheController(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    @GetMapping("/route-cache")
+    public Map<String, Object> routeCache() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", handlerMapping instanceof RouteCachingHandlerMapping);
+        if (handlerMapping instanceof RouteCachingHandlerMapping) {
+            RouteCachingHandlerMapping routeCache = (RouteCachingHandlerMapping) handlerMapping;
+            stats.put("hits", routeCache.getHits());
+            stats.put("misses", routeCache.getMisses());
+            stats.put("size", routeCache.getSize());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,150 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 경로 -> 핸들러 조회 결과를 캐시하는 RequestMappingHandlerMapping
+ * - 기본 동작 : 요청마다 등록된 매핑을 PathPattern 으로 비교해서 가장 알맞은 핸들러를 찾는다
+ * - 캐시 적용 : 같은 경로로 다시 GET 요청이 오면 비교 없이 바로 핸들러를 찾는다
+ *
+ * 캐시해도 결과가 바뀌지 않는 경우만 캐시한다.
+ * - GET 요청
+ * - 이 경로에 맞는 GET 매핑 중에 params, headers, consumes, produces 같은 추가 조건이 있는 매핑이 없음 (요청마다 결과가 달라질 수 있다)
+ * 같은 경로에 PATCH, DELETE 매핑이 같이 있어도 GET 요청의 결과는 항상 같으므로 캐시한다.
+ * 추가 조건이 있는 GET 매핑 목록은 매핑을 등록할 때 한 번만 만든다. (캐시 miss 때 전체 매핑을 훑지 않는다)
+ */
+public class RouteCachingHandlerMapping extends RequestMappingHandlerMapping {
+
+    private static final String MATCHED_MAPPING_ATTRIBUTE = RouteCachingHandlerMapping.class.getName() + ".matchedMapping";
+
+    private final int maxSize;
+    private final Map<String, CachedRoute> routes = new ConcurrentHashMap<>();
+    private volatile RequestMappingInfo[] conditionalGetMappings = new RequestMappingInfo[0];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RouteCachingHandlerMapping(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+
+        CachedRoute cached = routes.get(lookupPath);
+        if (cached != null) {
+            hits.increment();
+            // super.lookupHandlerMethod() 와 같이 경로 변수 등 요청 속성을 채워준다
+            request.setAttribute(BEST_MATCHING_HANDLER_ATTRIBUTE, cached.handlerMethod);
+            handleMatch(cached.mapping, lookupPath, request);
+            request.removeAttribute(MATCHED_MAPPING_ATTRIBUTE);
+            return cached.handlerMethod;
+        }
+
+        misses.increment();
+        HandlerMethod handlerMethod = super.lookupHandlerMethod(lookupPath, request);
+        RequestMappingInfo matched = (RequestMappingInfo) request.getAttribute(MATCHED_MAPPING_ATTRIBUTE);
+        request.removeAttribute(MATCHED_MAPPING_ATTRIBUTE);
+        if (handlerMethod != null && matched != null && isCacheable(request)) {
+            // 경로 변수가 있으면 경로 종류가 끝없이 늘어날 수 있으므로, 가득 차면 비우고 다시 채운다
+            if (routes.size() >= maxSize) {
+                routes.clear();
+            }
+            routes.put(lookupPath, new CachedRoute(matched, handlerMethod));
+        }
+        return handlerMethod;
+    }
+
+    /**
+     * super.lookupHandlerMethod() 가 고른 매핑(이번 요청에 맞는 패턴으로 좁힌 매핑 정보)을 받아둔다
+     */
+    @Override
+    protected void handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request) {
+        super.handleMatch(info, lookupPath, request);
+        request.setAttribute(MATCHED_MAPPING_ATTRIBUTE, info);
+    }
+
+    /**
+     * 추가 조건이 있는 GET 매핑이 이 경로에 맞으면, 같은 경로라도 요청마다 다른 핸들러가 고를 수 있으므로 캐시하지 않는다
+     * 추가 조건 자체는 보지 않고 경로 + 메서드 조건만 본다. (이번 요청이 조건에 안 맞아도 다음 요청은 맞을 수 있다)
+     */
+    private boolean isCacheable(HttpServletRequest request) {
+        for (RequestMappingInfo info : conditionalGetMappings) {
+            if (info.getMethodsCondition().getMatchingCondition(request) != null
+                    && info.getActivePatternsCondition().getMatchingCondition(request) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void refreshConditionalGetMappings() {
+        conditionalGetMappings = getHandlerMethods().keySet().stream()
+                .filter(info -> info.getMethodsCondition().isEmpty()
+                        || info.getMethodsCondition().getMethods().contains(RequestMethod.GET))
+                .filter(info -> !isUnconditional(info))
+                .toArray(RequestMappingInfo[]::new);
+        routes.clear();
+    }
+
+    private boolean isUnconditional(RequestMappingInfo info) {
+        return info.getParamsCondition().isEmpty()
+                && info.getHeadersCondition().isEmpty()
+                && info.getConsumesCondition().isEmpty()
+                && info.getProducesCondition().isEmpty()
+                && info.getCustomCondition() == null;
+    }
+
+    @Override
+    protected void handlerMethodsInitialized(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        super.handlerMethodsInitialized(handlerMethods);
+        refreshConditionalGetMappings();
+    }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        refreshConditionalGetMappings();
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        refreshConditionalGetMappings();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        return routes.size();
+    }
+
+    private static class CachedRoute {
+        private final RequestMappingInfo mapping;
+        private final HandlerMethod handlerMethod;
+
+        private CachedRoute(RequestMappingInfo mapping, HandlerMethod handlerMethod) {
+            this.mapping = mapping;
+            this.handlerMethod = handlerMethod;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package hello.springmvc.basic.requestmapping.order;
+
+import lombok.Value;
+
+/**
+ * 주문 (불변)
+ */
+@Value
+public class Order {
+    long orderId;
+    String userId;
+    String itemName;
+    int price;
+    int quantity;
+}
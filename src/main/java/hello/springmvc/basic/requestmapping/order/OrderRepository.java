@@ -0,0 +1,104 @@
+package hello.springmvc.basic.requestmapping.order;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 주문 저장소 (2단계 인덱스)
+ * - 1단계 : userId -> 회원별 주문 맵, ConcurrentHashMap
+ * - 2단계 : orderId -> Order, LongObjectOpenHashMap (long key 그대로 저장, 박싱 없음)
+ *
+ * 회원별 주문 맵은 해당 회원 단위로 synchronized 한다.
+ * 서로 다른 회원의 요청은 경합하지 않고, 한 회원의 요청만 짧은 임계 구역에서 순서대로 처리된다.
+ *
+ * 마지막 주문이 삭제되면 회원별 주문 맵도 1단계 맵에서 지운다. (주문이 없는 회원의 빈 맵이 쌓이지 않게)
+ * 지우는 것도 회원별 맵의 락 안에서 하므로, 등록은 락을 잡은 뒤 그 맵이 아직 1단계 맵에 있는지 확인하고 넣는다.
+ */
+@Repository
+public class OrderRepository {
+
+    private final ConcurrentMap<String, LongObjectOpenHashMap<Order>> orders = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * 주문 등록, orderId 는 1부터 자동 증가
+     */
+    public Order save(String userId, String itemName, int price, int quantity) {
+        Order order = new Order(sequence.incrementAndGet(), userId, itemName, price, quantity);
+        while (true) {
+            LongObjectOpenHashMap<Order> userOrders = orders.computeIfAbsent(userId, id -> new LongObjectOpenHashMap<>());
+            synchronized (userOrders) {
+                // 락을 잡기 전에 마지막 주문이 삭제되어 맵이 지워졌으면 새 맵으로 다시 시도한다
+                if (orders.get(userId) == userOrders) {
+                    userOrders.put(order.getOrderId(), order);
+                    return order;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 주문, 없으면 null
+     */
+    public Order findById(String userId, long orderId) {
+        LongObjectOpenHashMap<Order> userOrders = orders.get(userId);
+        if (userOrders == null) {
+            return null;
+        }
+        synchronized (userOrders) {
+            return userOrders.get(orderId);
+        }
+    }
+
+    /**
+     * 회원의 주문 목록 (orderId 순)
+     */
+    public List<Order> findByUserId(String userId) {
+        LongObjectOpenHashMap<Order> userOrders = orders.get(userId);
+        if (userOrders == null) {
+            return List.of();
+        }
+        List<Order> result;
+        synchronized (userOrders) {
+            result = new ArrayList<>(userOrders.size());
+            userOrders.forEachValue(result::add);
+        }
+        result.sort(Comparator.comparingLong(Order::getOrderId));
+        return result;
+    }
+
+    public boolean delete(String userId, long orderId) {
+        LongObjectOpenHashMap<Order> userOrders = orders.get(userId);
+        if (userOrders == null) {
+            return false;
+        }
+        synchronized (userOrders) {
+            if (userOrders.remove(orderId) == null) {
+                return false;
+            }
+            if (userOrders.size() == 0) {
+                orders.remove(userId, userOrders);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 회원의 주문 전체 삭제 (회원 삭제 시)
+     */
+    public void deleteByUserId(String userId) {
+        LongObjectOpenHashMap<Order> userOrders = orders.get(userId);
+        if (userOrders == null) {
+            return;
+        }
+        synchronized (userOrders) {
+            orders.remove(userId, userOrders);
+        }
+    }
+}
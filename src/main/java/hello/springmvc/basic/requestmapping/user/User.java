@@ -0,0 +1,17 @@
+package hello.springmvc.basic.requestmapping.user;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * 회원
+ * 불변 객체이므로 저장소에서 꺼낸 참조를 그대로 넘겨도 된다. (조회할 때 복사 비용이 없다)
+ * 수정은 withXxx() 로 새 객체를 만들어 교체한다.
+ */
+@Value
+@With
+public class User {
+    String userId;
+    String username;
+    int age;
+}
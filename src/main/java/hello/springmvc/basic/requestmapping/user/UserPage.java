@@ -0,0 +1,17 @@
+package hello.springmvc.basic.requestmapping.user;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 회원 목록 한 페이지
+ * next : 다음 페이지를 조회할 커서(마지막 회원 id), 마지막 페이지면 null
+ * ex) GET /mapping/users?after={next}&size=20
+ */
+@Value
+public class UserPage {
+    List<User> content;
+    int size;
+    String next;
+}
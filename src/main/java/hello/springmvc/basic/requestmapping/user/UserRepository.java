@@ -0,0 +1,137 @@
+package hello.springmvc.basic.requestmapping.user;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 메모리 회원 저장소 (동시성 안전)
+ * - store : userId -> User, ConcurrentHashMap 이라 조회는 락 없이 읽는다
+ * - index : userId 정렬 인덱스, ConcurrentSkipListSet 으로 목록 조회(페이징)에 사용한다
+ *
+ * store 와 index 를 함께 바꿀 때는 ConcurrentHashMap.compute 안에서 바꾼다.
+ * compute 는 같은 key 에 대해 직렬로 실행되므로, 같은 회원을 동시에 등록/삭제해도 store 와 index 가 어긋나지 않는다.
+ * 목록 조회는 index 를 락 없이 순회하므로 순회 도중의 변경은 보일 수도 있고 안 보일 수도 있다. (weakly consistent)
+ */
+@Repository
+public class UserRepository {
+
+    private final ConcurrentMap<String, User> store = new ConcurrentHashMap<>();
+    private final NavigableSet<String> index = new ConcurrentSkipListSet<>();
+
+    /**
+     * 등록, 이미 있는 userId 면 저장하지 않고 empty
+     */
+    public Optional<User> save(User user) {
+        boolean[] created = new boolean[1];
+        store.compute(user.getUserId(), (userId, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            index.add(userId);
+            created[0] = true;
+            return user;
+        });
+        return created[0] ? Optional.of(user) : Optional.empty();
+    }
+
+    public Optional<User> findById(String userId) {
+        return Optional.ofNullable(store.get(userId));
+    }
+
+    /**
+     * 수정, 없는 회원이면 empty
+     */
+    public Optional<User> update(String userId, UnaryOperator<User> updater) {
+        return Optional.ofNullable(store.computeIfPresent(userId, (id, user) -> updater.apply(user)));
+    }
+
+    /**
+     * 회원이 있을 때만 action 을 실행한다. 없는 회원이면 empty
+     * 같은 회원의 삭제와 같은 compute 안에서 직렬로 실행되므로, 실행 도중에 회원이 삭제되지 않는다.
+     * (compute 안이므로 action 은 짧게, 이 저장소를 다시 호출하지 않는다)
+     */
+    public <T> Optional<T> withUser(String userId, Function<User, T> action) {
+        Object[] result = new Object[1];
+        store.computeIfPresent(userId, (id, user) -> {
+            result[0] = action.apply(user);
+            return user;
+        });
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return Optional.ofNullable(value);
+    }
+
+    public boolean delete(String userId) {
+        return delete(userId, user -> {
+        });
+    }
+
+    /**
+     * 삭제하면서 회원에 딸린 데이터도 같은 compute 안에서 정리한다. (withUser 와 직렬로 실행된다)
+     */
+    public boolean delete(String userId, Consumer<User> cleanup) {
+        boolean[] deleted = new boolean[1];
+        store.computeIfPresent(userId, (id, user) -> {
+            cleanup.accept(user);
+            index.remove(id);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * 커서 기반 페이징 : after 다음 userId 부터 size 개
+     * 정렬 인덱스에서 tailSet 으로 바로 시작 위치를 찾으므로, 뒤 페이지로 갈수록 느려지지 않는다.
+     */
+    public UserPage findPage(String after, int size) {
+        NavigableSet<String> ids = after == null ? index : index.tailSet(after, false);
+        List<User> content = new ArrayList<>(size);
+        for (String userId : ids) {
+            if (content.size() == size) {
+                break;
+            }
+            User user = store.get(userId);
+            if (user != null) { // 순회 도중 삭제된 회원은 건너뛴다
+                content.add(user);
+            }
+        }
+        String next = content.size() == size ? content.get(size - 1).getUserId() : null;
+        return new UserPage(Collections.unmodifiableList(content), size, next);
+    }
+
+    /**
+     * 전체 스냅샷 (userId 순, 불변 리스트)
+     * 정렬 인덱스를 락 없이 한 번 순회하면서 복사한다. User 가 불변이므로 참조만 복사하면 되고,
+     * 복사한 뒤에는 저장소가 바뀌어도 스냅샷은 바뀌지 않는다.
+     */
+    public List<User> snapshot() {
+        List<User> users = new ArrayList<>(store.size());
+        for (String userId : index) {
+            User user = store.get(userId);
+            if (user != null) { // 순회 도중 삭제된 회원은 건너뛴다
+                users.add(user);
+            }
+        }
+        return Collections.unmodifiableList(users);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public int indexSize() {
+        return index.size();
+    }
+}
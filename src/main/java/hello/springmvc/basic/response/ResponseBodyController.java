@@ -1,17 +1,21 @@
 package hello.springmvc.basic.response;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.response.cache.CachedResponseBody;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 // @Controller 대신 @RestController 사용 시 해당 컨트롤러에 모두 @ResponseBody 가 적용된다.
 // 따라서 뷰 템플릿을 사용하는 것이 아니라, HTTP 메시지 바디에 직접 데이터를 입력한다.
@@ -24,6 +28,8 @@ import java.io.IOException;
 @RestController // @Controller + @ResponseBody 한 것!
 public class ResponseBodyController {
 
+    private static final int MAX_LIST_SIZE = 10_000;
+
     // HttpServletResponse 객체를 통해서 HTTP 메시지 바디에 직접 ok 응답 메시지를 전달한다.
     // ==> response.getWriter().write("ok")
     @GetMapping("/response-body-string-v1")
@@ -47,6 +53,8 @@ public class ResponseBodyController {
     }
 
     // ResponseEntity 를 반환한다. HTTP 메시지 컨버터를 통해서 JSON 형식으로 변환되어서 반환된다.
+    // @CachedResponseBody : 응답이 항상 같으므로 변환된 JSON 바이트를 캐시해서 재사용한다. (ETag, 304 지원)
+    @CachedResponseBody
     @GetMapping("/response-body-json-v1")
     public ResponseEntity<HelloData> responseBodyJsonV1(){
         HelloData helloData = new HelloData();
@@ -57,6 +65,7 @@ public class ResponseBodyController {
 
     // @ResponseStatus() : 응답 코드 설정 가능 (동적 변경은 불가)
     // 프로그램 조건에 따라서 동적으로 변경하려면 ResponseEntity 를 사용하면 된다.
+    @CachedResponseBody
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     @GetMapping("/response-body-json-v2")
@@ -66,4 +75,19 @@ public class ResponseBodyController {
         helloData.setAge(20);
         return helloData;
     }
+
+    // HelloData 목록 (JSON 배열), 응답 압축 비교용으로 server.compression.min-response-size 보다 큰 응답을 만든다
+    // ex) /response-body-json-list?size=200 ==> 약 6KB, 같은 모양이 반복되어 gzip 으로 잘 줄어든다
+    @GetMapping("/response-body-json-list")
+    public List<HelloData> responseBodyJsonList(@RequestParam(defaultValue = "200") int size) {
+        int count = Math.max(0, Math.min(size, MAX_LIST_SIZE));
+        List<HelloData> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HelloData helloData = new HelloData();
+            helloData.setUsername("user" + i);
+            helloData.setAge(i % 100);
+            list.add(helloData);
+        }
+        return list;
+    }
 }
@@ -1,13 +1,27 @@
 package hello.springmvc.basic.response;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 
 @Controller
+@RequiredArgsConstructor
 public class ResponseViewController {
 
+    private final TemplateEngine templateEngine;
+
     @RequestMapping("/response-view-v1")
     public ModelAndView responseViewV1() {
 
@@ -38,4 +52,25 @@ public class ResponseViewController {
 
         model.addAttribute("data", "hello!!!");
     }
+
+    /**
+     * StreamingResponseBody : 뷰 리졸버를 거치지 않고 템플릿 엔진으로 바로 렌더링하면서 응답에 흘려 보낸다
+     * - 렌더링은 비동기 요청 처리 스레드에서 실행되고, 응답은 chunked 로 나간다
+     * - 모델이 커도 전체 HTML 을 메모리에 모으지 않고 만들어지는 대로 내보낸다
+     */
+    @RequestMapping("/response-view-stream")
+    public ResponseEntity<StreamingResponseBody> responseViewStream(Locale locale) {
+
+        Context context = new Context(locale);
+        context.setVariable("data", "hello!!!!");
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            templateEngine.process("response/hello", context, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
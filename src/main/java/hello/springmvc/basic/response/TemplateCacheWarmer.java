@@ -0,0 +1,41 @@
+package hello.springmvc.basic.response;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.Writer;
+
+/**
+ * 애플리케이션이 뜨자마자 뷰 템플릿을 한 번씩 렌더링해서 템플릿 캐시를 미리 채운다.
+ * 첫 요청에서 템플릿을 읽고 파싱하는 비용(p99 튀는 현상)을 없앤다.
+ * (spring.thymeleaf.cache=true 일 때 의미가 있다)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hello.view.prewarm", havingValue = "true")
+public class TemplateCacheWarmer {
+
+    private final TemplateEngine templateEngine;
+    private final String[] templates;
+
+    public TemplateCacheWarmer(TemplateEngine templateEngine,
+                               @Value("${hello.view.prewarm-templates:response/hello}") String[] templates) {
+        this.templateEngine = templateEngine;
+        this.templates = templates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String template : templates) {
+            long start = System.nanoTime();
+            templateEngine.process(template, new Context(), Writer.nullWriter());
+            log.info("template prewarmed. template={}, elapsedMs={}", template, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
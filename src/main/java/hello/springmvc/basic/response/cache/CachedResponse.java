@@ -0,0 +1,35 @@
+package hello.springmvc.basic.response.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+
+@Getter
+@RequiredArgsConstructor
+public class CachedResponse {
+
+    // 캐시 hit 마다 전역 락 없이 마지막 사용 시각만 갱신한다. 같은 캐시 라인에 계속 쓰지 않도록 1초 단위로만 갱신
+    private static final long TOUCH_RESOLUTION_MILLIS = 1000;
+
+    private final int status;
+    private final String contentType;
+    /**
+     * ResponseEntity 로 지정한 헤더 (Content-Type, Content-Length 제외), 캐시 hit 에도 그대로 다시 붙인다
+     */
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final long expiresAt;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAt;
+    }
+
+    void touch(long now) {
+        if (now - lastAccess >= TOUCH_RESOLUTION_MILLIS) {
+            lastAccess = now;
+        }
+    }
+}
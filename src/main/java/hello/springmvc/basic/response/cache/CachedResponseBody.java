@@ -0,0 +1,20 @@
+package hello.springmvc.basic.response.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 응답이 항상 같은 GET 핸들러에 붙이면, HTTP 메시지 컨버터로 변환한 응답 바이트를 캐시해서 재사용한다.
+ * - 캐시된 동안은 핸들러를 호출하지 않고 저장해둔 byte[] 를 바로 응답한다
+ * - 응답에 ETag 를 붙이고, If-None-Match 가 같으면 바디 없이 304 Not Modified 로 응답한다
+ *
+ * ttlSeconds : 캐시 유지 시간(초), 지정하지 않으면 hello.response-cache.ttl-seconds 를 사용한다
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponseBody {
+
+    long ttlSeconds() default -1;
+}
@@ -0,0 +1,37 @@
+package hello.springmvc.basic.response.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebMvcConfigurer.addReturnValueHandlers() 로 등록하면 기본 핸들러 뒤에 추가되어서,
+ * @ResponseBody, ResponseEntity 를 처리하는 기본 핸들러가 먼저 선택된다.
+ * 그래서 RequestMappingHandlerAdapter 초기화가 끝난 뒤 맨 앞에 끼워 넣는다.
+ * lazy-initialization(fast-startup 프로필)이면 afterSingletonsInstantiated() 가 호출되지 않으므로 @Lazy(false)
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class CachedResponseBodyHandlerRegistrar implements SmartInitializingSingleton {
+
+    private final RequestMappingHandlerAdapter handlerAdapter;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final ResponseBodyCache cache;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>();
+        handlers.add(new CachedResponseBodyReturnValueHandler(
+                handlerAdapter.getMessageConverters(), contentNegotiationManager, cache));
+        handlers.addAll(handlerAdapter.getReturnValueHandlers());
+        handlerAdapter.setReturnValueHandlers(handlers);
+    }
+}
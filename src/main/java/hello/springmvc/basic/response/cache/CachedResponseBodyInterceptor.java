@@ -0,0 +1,38 @@
+package hello.springmvc.basic.response.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @CachedResponseBody 핸들러 호출 전에 캐시를 확인한다.
+ * 캐시가 있으면 핸들러를 호출하지 않고 캐시된 응답을 쓰고 끝낸다. (return false)
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedResponseBodyInterceptor implements HandlerInterceptor {
+
+    private final ResponseBodyCache cache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        if (!((HandlerMethod) handler).hasMethodAnnotation(CachedResponseBody.class)) {
+            return true;
+        }
+
+        CachedResponse cached = cache.get(ResponseBodyCache.key(request));
+        if (cached == null) {
+            return true;
+        }
+        cache.write(cached, request, response);
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package hello.springmvc.basic.response.cache;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @CachedResponseBody 핸들러의 반환값(객체, ResponseEntity)을 처리한다.
+ * - @ResponseBody 와 똑같이 HTTP 메시지 컨버터로 변환하지만, 응답에 바로 쓰지 않고 byte[] 로 모은다
+ * - 모은 byte[] 를 ResponseBodyCache 에 저장한 뒤 응답한다
+ * 메시지 컨버터와 Accept 기반 콘텐츠 협상은 기존 방식을 그대로 사용한다.
+ */
+public class CachedResponseBodyReturnValueHandler extends RequestResponseBodyMethodProcessor {
+
+    private final ResponseBodyCache cache;
+
+    public CachedResponseBodyReturnValueHandler(List<HttpMessageConverter<?>> converters,
+                                                ContentNegotiationManager contentNegotiationManager,
+                                                ResponseBodyCache cache) {
+        super(converters, contentNegotiationManager);
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return false;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.hasMethodAnnotation(CachedResponseBody.class);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws IOException, HttpMediaTypeNotAcceptableException {
+
+        mavContainer.setRequestHandled(true);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+
+        // ResponseEntity 이면 상태 코드, 헤더를 먼저 적용하고 바디만 변환한다 (Content-Type 헤더는 컨버터 선택에 쓰인다)
+        // 헤더는 캐시에도 저장해서 캐시 hit 응답에도 붙인다. 길이는 캐시된 바디로 다시 정한다
+        Object body = returnValue;
+        HttpHeaders headers = new HttpHeaders();
+        if (returnValue instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) returnValue;
+            response.setStatus(entity.getStatusCodeValue());
+            entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            headers.putAll(entity.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            body = entity.getBody();
+        }
+
+        // 메시지 컨버터 결과를 응답에 바로 쓰지 않고 메모리에 모은다 (헤더는 원래 응답에 그대로 적용된다)
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        writeWithMessageConverters(body, returnType, new ServletServerHttpRequest(request), new ServletServerHttpResponse(buffered));
+
+        CachedResponse cached = cache.put(ResponseBodyCache.key(request), response.getStatus(),
+                buffered.getContentType(), headers, buffered.getContentAsByteArray(),
+                returnType.getMethodAnnotation(CachedResponseBody.class).ttlSeconds());
+        cache.write(cached, request, response);
+    }
+}
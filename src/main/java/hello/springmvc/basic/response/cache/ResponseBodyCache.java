@@ -0,0 +1,144 @@
+package hello.springmvc.basic.response.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 변환이 끝난 응답 바이트 저장소
+ * - 키 : 요청 URI + 쿼리 + Accept 헤더 (Accept 에 따라 응답 형식이 달라질 수 있다)
+ * - ConcurrentHashMap 이라 조회(캐시 hit)는 락 없이 읽는다. 조회할 때는 마지막 사용 시각만 (1초 단위로) 갱신한다
+ * - maxEntries 개를 넘으면 한 스레드가 만료된 것과 가장 오래 사용하지 않은 것부터 지워서 90% 로 줄인다 (근사 LRU)
+ *   정리하는 동안 잠깐 maxEntries 를 넘을 수 있다
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final long defaultTtlMillis;
+    private final int maxEntries;
+    private final ConcurrentMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ResponseBodyCache(@Value("${hello.response-cache.ttl-seconds:60}") long defaultTtlSeconds,
+                             @Value("${hello.response-cache.max-entries:1000}") int maxEntries) {
+        this.defaultTtlMillis = defaultTtlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public static String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query == null ? "" : "?" + query) + "|" + (accept == null ? "" : accept);
+    }
+
+    /**
+     * 만료되지 않은 캐시만 반환한다. 없으면 null
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired()) {
+            entries.remove(key, cached);
+            return null;
+        }
+        cached.touch(System.currentTimeMillis());
+        return cached;
+    }
+
+    public CachedResponse put(String key, int status, String contentType, HttpHeaders headers, byte[] body, long ttlSeconds) {
+        long ttlMillis = ttlSeconds < 0 ? defaultTtlMillis : ttlSeconds * 1000;
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\""; // 강한(strong) ETag : 바이트가 같을 때만 같다
+
+        CachedResponse cached = new CachedResponse(status, contentType, HttpHeaders.readOnlyHttpHeaders(headers),
+                body, etag, System.currentTimeMillis() + ttlMillis);
+        entries.put(key, cached);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        return cached;
+    }
+
+    /**
+     * 만료된 것을 지우고, 그래도 많으면 마지막 사용 시각이 오래된 것부터 maxEntries 의 90% 가 될 때까지 지운다.
+     * 동시에 한 스레드만 정리하고, 다른 스레드는 기다리지 않고 넘어간다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(CachedResponse::isExpired);
+            int excess = entries.size() - maxEntries * 9 / 10;
+            if (excess <= 0) {
+                return;
+            }
+            // 정렬 중에 lastAccess 가 바뀌어도 되도록 값만 복사해서 기준 시각을 구한다
+            long[] accessed = entries.values().stream().mapToLong(CachedResponse::getLastAccess).sorted().toArray();
+            long cutoff = accessed[Math.min(excess, accessed.length) - 1];
+            for (Iterator<CachedResponse> it = entries.values().iterator(); it.hasNext() && excess > 0; ) {
+                if (it.next().getLastAccess() <= cutoff) {
+                    it.remove();
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 캐시된 응답을 쓴다. If-None-Match 가 ETag 와 같으면 바디 없이 304 로 응답한다.
+     */
+    public void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 키에 Accept 가 들어가는 것과 같은 이유로, 중간 캐시도 Accept 별로 따로 저장하게 한다 (ETag 도 형식별로 다르다)
+        // 첫 응답에도 ResponseEntity 헤더가 이미 붙어 있으므로 add 가 아니라 이름별로 덮어쓴다
+        cached.getHeaders().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            for (int i = 1; i < values.size(); i++) {
+                response.addHeader(name, values.get(i));
+            }
+        });
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(cached.getStatus());
+        response.setContentType(cached.getContentType());
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
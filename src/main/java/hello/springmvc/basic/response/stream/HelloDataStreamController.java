@@ -0,0 +1,43 @@
+package hello.springmvc.basic.response.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 끝이 정해지지 않은(또는 아주 큰) HelloData 목록을 응답으로 흘려보낸다.
+ * ResponseBodyController 처럼 다 만든 객체를 반환하지 않고, 만들면서 바로 쓴다. (Transfer-Encoding: chunked)
+ * 핸들러는 바로 반환하고 톰캣 요청 스레드를 놓아준다. 실제 쓰기는 비동기 실행 스레드가 한다.
+ *
+ * curl -N "http://localhost:8080/response-stream/ndjson?count=1000000"
+ * curl -N "http://localhost:8080/response-stream/sse?count=1000"
+ */
+@RestController
+@RequiredArgsConstructor
+public class HelloDataStreamController {
+
+    private final HelloDataStreamer streamer;
+
+    // StreamingResponseBody : OutputStream 에 직접 쓴다. 스프링 MVC 비동기 실행기(HandlerAsyncExecutor)에서 실행된다
+    @GetMapping(value = "/response-stream/ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> ndjson(@RequestParam(defaultValue = "1000") long count,
+                                                        NativeWebRequest request) {
+        streamer.open(request, count);
+        StreamingResponseBody body = outputStream -> streamer.writeNdjson(outputStream, count);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // SseEmitter : Server-Sent Events, 브라우저 EventSource 로 받을 수 있다
+    @GetMapping(value = "/response-stream/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sse(@RequestParam(defaultValue = "1000") long count) {
+        return streamer.sse(count);
+    }
+}
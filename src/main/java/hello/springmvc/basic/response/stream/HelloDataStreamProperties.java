@@ -0,0 +1,47 @@
+package hello.springmvc.basic.response.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * hello.stream.* 설정 (/response-stream/ndjson, /response-stream/sse)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("hello.stream")
+public class HelloDataStreamProperties {
+
+    /**
+     * 동시에 열 수 있는 스트림 수, 넘으면 503
+     * 스트림 하나가 비동기 실행 스레드 하나를 끝날 때까지 사용하므로 스레드 풀 크기보다 크게 잡지 않는다
+     */
+    private int maxConcurrent = 8;
+
+    /**
+     * 요청 한 번에 보낼 수 있는 최대 레코드 수, 넘으면 400
+     */
+    private long maxRecords = 10_000_000;
+
+    /**
+     * 레코드를 이만큼 쓸 때마다 flush 한다 (SSE 는 이벤트 하나에 담는 레코드 수)
+     */
+    private int flushRecords = 256;
+
+    /**
+     * flushRecords 를 다 채우지 못해도 마지막 flush 후 이 시간이 지나면 flush 한다
+     */
+    private long flushIntervalMs = 100;
+
+    /**
+     * 쓰기(flush) 한 번이 이 시간보다 오래 막히면 느린 클라이언트로 보고 스트림을 끊는다
+     */
+    private long slowConsumerMs = 3000;
+
+    /**
+     * 스트림 전체 비동기 타임아웃 (spring.mvc.async.request-timeout 대신 사용)
+     */
+    private long timeoutMs = 600_000;
+}
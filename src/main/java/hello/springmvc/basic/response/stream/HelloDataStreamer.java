@@ -0,0 +1,234 @@
+package hello.springmvc.basic.response.stream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HelloData 레코드를 끝날 때까지 만들면서 바로 응답으로 내보낸다.
+ * - 레코드는 하나씩 만들어서 쓰고 버린다. 목록을 미리 만들지 않으므로 레코드 수와 관계없이 서버 메모리 사용량이 일정하다
+ * - flush 는 hello.stream.flush-records 개 또는 flush-interval-ms 마다 한 번 (레코드마다 flush 하면 청크가 너무 잘게 나뉜다)
+ * - 쓰기가 hello.stream.slow-consumer-ms 보다 오래 막히면 느린 클라이언트로 보고 끊는다
+ * - 동시에 열린 스트림 수는 hello.stream.max-concurrent 로 제한한다 (넘으면 503)
+ */
+@Slf4j
+@Component
+public class HelloDataStreamer {
+
+    private final HelloDataStreamProperties properties;
+    private final ObjectWriter writer;
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final Semaphore streams;
+    private final LongAdder sentRecords = new LongAdder();
+    private final LongAdder slowConsumers = new LongAdder();
+
+    public HelloDataStreamer(HelloDataStreamProperties properties, JsonCodecRegistry codecRegistry, AsyncTaskExecutor taskExecutor) {
+        this.properties = properties;
+        // writeValue(JsonGenerator, ..) 는 기본적으로 값마다 flush 하므로 끈다. flush 는 직접 모아서 한다
+        this.writer = codecRegistry.writer(HelloData.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.taskExecutor = taskExecutor;
+        this.streams = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    /**
+     * StreamingResponseBody 용 : 스트림 허가를 받고, 비동기 처리가 끝나면(완료, 타임아웃, 오류 모두) 반납하도록 등록한다.
+     * 허가가 없으면 503, 레코드 수가 너무 많으면 400
+     */
+    public void open(NativeWebRequest request, long count) {
+        Permit permit = acquire(count);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(HelloDataStreamer.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        // 스트림은 기본 비동기 타임아웃(hello.async.timeout-ms)보다 오래 걸리므로 여기서만 늘린다
+                        ((AsyncWebRequest) asyncRequest).setTimeout(properties.getTimeoutMs());
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest asyncRequest, Callable<T> task) {
+                        permit.release();
+                    }
+                });
+    }
+
+    /**
+     * NDJSON(한 줄에 JSON 하나)으로 count 개를 쓴다. 비동기 실행 스레드에서 호출된다.
+     */
+    public void writeNdjson(OutputStream outputStream, long count) throws IOException {
+        SlowConsumerDetectingOutputStream out = new SlowConsumerDetectingOutputStream(outputStream,
+                TimeUnit.MILLISECONDS.toNanos(properties.getSlowConsumerMs()));
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        int flushRecords = properties.getFlushRecords();
+
+        // 생성기는 응답 스트림에 바로 쓰고, 자체 버퍼(8KB)가 차면 그때 서블릿 출력 스트림으로 넘긴다
+        // 응답 스트림은 서블릿 컨테이너가 닫으므로 생성기가 닫지 않도록 한다
+        // 루트 값 사이 기본 구분자(공백)를 없애고 줄바꿈을 직접 쓴다
+        // 느린 클라이언트로 끊은 뒤에는 out 이 쓰기를 버리므로, 생성기를 닫을 때 남은 버퍼를 flush 해도 다시 막히지 않는다
+        try (JsonGenerator generator = writer.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            HelloData helloData = new HelloData();
+            long lastFlush = System.nanoTime();
+            long sent = 0;
+            try {
+                for (long i = 0; i < count; i++) {
+                    writer.writeValue(generator, next(helloData, i));
+                    generator.writeRaw('\n');
+                    sent++;
+
+                    if (sent % flushRecords == 0 || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                        out.setRecords(sent);
+                        generator.flush();
+                        lastFlush = System.nanoTime();
+                    }
+                }
+                generator.flush();
+            } catch (SlowConsumerException e) {
+                slowConsumers.increment();
+                log.info("NDJSON 스트림 중단 : {}", e.getMessage());
+                throw e;
+            } finally {
+                sentRecords.add(sent);
+            }
+        }
+    }
+
+    /**
+     * SSE 로 count 개를 보낸다. 이벤트 하나에 flush-records 개를 data 줄로 담고, id 는 마지막 레코드 번호다.
+     * 레코드를 만들고 보내는 일은 AsyncTaskExecutor 스레드가 한다. (컨트롤러는 SseEmitter 를 바로 반환)
+     */
+    public SseEmitter sse(long count) {
+        Permit permit = acquire(count);
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        AtomicBoolean done = new AtomicBoolean();
+        emitter.onCompletion(() -> {
+            done.set(true);
+            permit.release();
+        });
+        emitter.onTimeout(() -> done.set(true));
+        emitter.onError(e -> done.set(true));
+
+        try {
+            taskExecutor.execute(() -> sendEvents(emitter, count, done));
+        } catch (TaskRejectedException e) {
+            permit.release();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "스트림 실행 스레드가 부족합니다.", e);
+        }
+        return emitter;
+    }
+
+    private void sendEvents(SseEmitter emitter, long count, AtomicBoolean done) {
+        long slowConsumerNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowConsumerMs());
+        int flushRecords = properties.getFlushRecords();
+        HelloData helloData = new HelloData();
+        long sent = 0;
+        try {
+            // 컨트롤러가 SseEmitter 를 반환하기 전에 보낸 이벤트는 emitter 안에 쌓였다가 한꺼번에 나간다 (첫 배치 정도)
+            while (sent < count && !done.get()) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name("hello-data");
+                long end = Math.min(count, sent + flushRecords);
+                for (long i = sent; i < end; i++) {
+                    event.data(writer.writeValueAsString(next(helloData, i)));
+                }
+                event.id(String.valueOf(end - 1));
+
+                // send() 는 이벤트마다 flush 하고, 클라이언트가 읽지 않으면 막힌다
+                long start = System.nanoTime();
+                emitter.send(event);
+                long blocked = System.nanoTime() - start;
+                sent = end;
+                if (blocked > slowConsumerNanos) {
+                    throw new SlowConsumerException(TimeUnit.NANOSECONDS.toMillis(blocked), sent);
+                }
+            }
+            emitter.complete();
+        } catch (SlowConsumerException e) {
+            slowConsumers.increment();
+            log.info("SSE 스트림 중단 : {}", e.getMessage());
+            emitter.completeWithError(e);
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 타임아웃으로 이미 끝난 스트림, 서블릿 컨테이너가 정리한다
+            log.debug("SSE 스트림 종료 : {}", e.toString());
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        } finally {
+            sentRecords.add(sent);
+        }
+    }
+
+    /**
+     * 레코드 i 의 값을 재사용하는 객체에 채운다. 레코드마다 새 객체를 만들지 않는다
+     */
+    private static HelloData next(HelloData helloData, long i) {
+        helloData.setUsername("user" + i);
+        helloData.setAge((int) (i % 100));
+        return helloData;
+    }
+
+    private Permit acquire(long count) {
+        if (count < 0 || count > properties.getMaxRecords()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count 는 0 ~ " + properties.getMaxRecords() + " 사이여야 합니다.");
+        }
+        if (!streams.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "동시에 열 수 있는 스트림 수(" + properties.getMaxConcurrent() + ")를 넘었습니다.");
+        }
+        return new Permit();
+    }
+
+    /**
+     * 완료 콜백이 여러 번 불려도 한 번만 반납한다
+     */
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                streams.release();
+            }
+        }
+    }
+
+    /**
+     * 지금 열려 있는 스트림 수
+     */
+    public int getActiveStreams() {
+        return properties.getMaxConcurrent() - streams.availablePermits();
+    }
+
+    /**
+     * 지금까지 보낸 레코드 수 (끝난 스트림 기준)
+     */
+    public long getSentRecords() {
+        return sentRecords.sum();
+    }
+
+    /**
+     * 느린 클라이언트로 판단해서 끊은 스트림 수
+     */
+    public long getSlowConsumerCount() {
+        return slowConsumers.sum();
+    }
+}
@@ -0,0 +1,71 @@
+package hello.springmvc.basic.response.stream;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서블릿 출력 스트림 쓰기(블로킹)가 막힌 시간을 잰다.
+ * 클라이언트가 읽지 않으면 TCP 수신 윈도우가 차서 write / flush 가 막힌다. ==> 서버는 그만큼만 만들어서 보낸다 (배압)
+ * 한 번에 slowConsumerNanos 보다 오래 막혔으면 SlowConsumerException 으로 스트림을 끊는다.
+ * 막혀 있는 쓰기 자체를 중간에 깨울 수는 없으므로, 완전히 멈춘 클라이언트는 톰캣 쓰기 타임아웃(server.tomcat.connection-timeout)으로 끊긴다.
+ * 한 번 끊은 뒤에는 쓰기 / flush 를 버린다. JsonGenerator.close() 가 남은 버퍼를 flush 하면서 같은 클라이언트에 다시 막히지 않도록
+ */
+class SlowConsumerDetectingOutputStream extends FilterOutputStream {
+
+    private final long slowConsumerNanos;
+    private long records;
+    private boolean aborted;
+
+    SlowConsumerDetectingOutputStream(OutputStream out, long slowConsumerNanos) {
+        super(out);
+        this.slowConsumerNanos = slowConsumerNanos;
+    }
+
+    /**
+     * 예외 메시지에 남길 보낸 레코드 수
+     */
+    void setRecords(long records) {
+        this.records = records;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (aborted) {
+            return;
+        }
+        long start = System.nanoTime();
+        out.write(b);
+        check(start);
+    }
+
+    // FilterOutputStream 기본 구현은 1바이트씩 쓰므로 반드시 재정의한다
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (aborted) {
+            return;
+        }
+        long start = System.nanoTime();
+        out.write(b, off, len);
+        check(start);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (aborted) {
+            return;
+        }
+        long start = System.nanoTime();
+        out.flush();
+        check(start);
+    }
+
+    private void check(long start) throws SlowConsumerException {
+        long blocked = System.nanoTime() - start;
+        if (blocked > slowConsumerNanos) {
+            aborted = true;
+            throw new SlowConsumerException(TimeUnit.NANOSECONDS.toMillis(blocked), records);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package hello.springmvc.basic.response.stream;
+
+import java.io.IOException;
+
+/**
+ * 클라이언트가 응답을 너무 늦게 읽어서 쓰기가 hello.stream.slow-consumer-ms 보다 오래 막혔다
+ */
+public class SlowConsumerException extends IOException {
+
+    public SlowConsumerException(long blockedMs, long sentRecords) {
+        super("느린 클라이언트 : 쓰기가 " + blockedMs + "ms 동안 막혔습니다. sentRecords=" + sentRecords);
+    }
+}
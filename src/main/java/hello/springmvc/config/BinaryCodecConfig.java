@@ -0,0 +1,73 @@
+package hello.springmvc.config;
+
+import hello.springmvc.basic.json.MessagePackHttpMessageConverter;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * JSON 대신 바이너리 포맷으로 주고받을 수 있게 HTTP 메시지 컨버터를 구성한다. (hello.codec.binary.enabled)
+ * - Smile       : application/x-jackson-smile
+ * - CBOR        : application/cbor
+ * - MessagePack : application/x-msgpack
+ * Content-Type / Accept 로 선택되므로 @RequestBody, @ResponseBody 를 쓰는 컨트롤러는 코드 변경 없이 그대로 동작한다.
+ *
+ * 스프링 MVC 는 클래스패스에 Smile, CBOR 라이브러리가 있으면 기본 ObjectMapper 로 만든 컨버터를 JSON 컨버터 뒤에 이미 넣어둔다.
+ * - 켜져 있으면 : 그 자리의 컨버터를 스프링 부트 Jackson2ObjectMapperBuilder 로 만든 컨버터로 바꾸고(JSON 과 같은 모듈/옵션), MessagePack 을 맨 뒤에 추가한다
+ * - 꺼져 있으면 : 기본 Smile, CBOR 컨버터를 빼서 JSON 만 쓴다
+ * 컨버터를 빈으로 등록하면 JSON 컨버터보다 앞에 놓여서 Accept: *\/* 요청에도 바이너리로 응답하게 되므로 여기서 목록을 직접 고친다.
+ */
+@Configuration
+public class BinaryCodecConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    @Value("${hello.codec.binary.enabled:true}")
+    private boolean enabled;
+
+    public BinaryCodecConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!enabled) {
+            converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                    || converter instanceof MappingJackson2CborHttpMessageConverter);
+            return;
+        }
+
+        // Jackson2ObjectMapperBuilder 빈은 prototype 이라 getObject() 마다 새 빌더를 받는다
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(builders.getObject().smile().build()));
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(builders.getObject().cbor().build()));
+        converters.add(new MessagePackHttpMessageConverter(
+                builders.getObject().factory(new MessagePackFactory()).build()));
+    }
+
+    private void replaceOrAdd(List<HttpMessageConverter<?>> converters, Class<?> type, HttpMessageConverter<?> replacement) {
+        boolean replaced = false;
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                if (replaced) {
+                    converters.remove(i--); // 같은 종류가 또 있으면 빼서 하나만 남긴다
+                } else {
+                    converters.set(i, replacement);
+                    replaced = true;
+                }
+            }
+        }
+        if (!replaced) {
+            converters.add(replacement);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springmvc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.buffer.PooledBodyReader;
+import hello.springmvc.basic.buffer.PooledHelloDataHttpMessageConverter;
+import hello.springmvc.basic.buffer.PooledStringHttpMessageConverter;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 요청 바디를 읽는 HTTP 메시지 컨버터가 HeapBufferPool 의 버퍼를 쓰도록 바꾼다. (hello.buffer.pooled-converters)
+ * - StringHttpMessageConverter     -> PooledStringHttpMessageConverter (같은 자리, 같은 기본 charset)
+ * - HelloData 읽기                  -> PooledHelloDataHttpMessageConverter (기본 JSON 컨버터 바로 앞)
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.buffer.pooled-converters", havingValue = "true")
+public class BufferConfig implements WebMvcConfigurer {
+
+    private final PooledBodyReader bodyReader;
+    private final ObjectMapper objectMapper;
+    private final JsonCodecRegistry codecRegistry;
+
+    public BufferConfig(PooledBodyReader bodyReader, ObjectMapper objectMapper, JsonCodecRegistry codecRegistry) {
+        this.bodyReader = bodyReader;
+        this.objectMapper = objectMapper;
+        this.codecRegistry = codecRegistry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.getClass() == StringHttpMessageConverter.class) {
+                PooledStringHttpMessageConverter pooled = new PooledStringHttpMessageConverter(
+                        bodyReader, ((StringHttpMessageConverter) converter).getDefaultCharset());
+                pooled.setWriteAcceptCharset(false); // 스프링 부트 기본값과 같게
+                converters.set(i, pooled);
+            }
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                converters.add(i, new PooledHelloDataHttpMessageConverter(objectMapper, codecRegistry, bodyReader));
+                break;
+            }
+        }
+    }
+}
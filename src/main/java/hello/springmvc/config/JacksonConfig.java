@@ -0,0 +1,22 @@
+package hello.springmvc.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Blackbird : 리플렉션 대신 LambdaMetafactory 로 getter/setter 호출 코드를 만들어서 (역)직렬화 속도를 높인다.
+     * Module 을 스프링 빈으로 등록하면 스프링 부트가 자동으로 ObjectMapper 에 등록해준다.
+     * hello.json.blackbird=true 일 때만 적용
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hello.json.blackbird", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,24 @@
+package hello.springmvc.config;
+
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import hello.springmvc.basic.nonblocking.NonBlockingHelloDataServlet;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NonBlockingConfig {
+
+    /**
+     * 논블로킹 서블릿은 DispatcherServlet 을 거치지 않도록 별도 서블릿으로 /non-blocking/* 에 등록한다.
+     * 서블릿 3.1 비동기 I/O 를 쓰려면 asyncSupported 가 true 여야 한다.
+     */
+    @Bean
+    public ServletRegistrationBean<NonBlockingHelloDataServlet> nonBlockingHelloDataServlet(JsonCodecRegistry codecRegistry) {
+        ServletRegistrationBean<NonBlockingHelloDataServlet> registration =
+                new ServletRegistrationBean<>(new NonBlockingHelloDataServlet(codecRegistry), "/non-blocking/*");
+        registration.setName("nonBlockingHelloDataServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.springmvc.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * virtual-threads 프로필 : 톰캣 요청 처리를 가상 스레드(Loom)에서 실행한다.
+ * - 요청마다 가상 스레드를 하나씩 만든다. 블로킹(sleep, I/O) 동안 플랫폼 스레드를 점유하지 않는다.
+ * - 가상 스레드는 JDK 21 부터 정식 기능이므로, JDK 21 이상으로 실행해야 한다.
+ *   (빌드는 Java 17 기준이라 Executors.newVirtualThreadPerTaskExecutor() 를 리플렉션으로 호출한다)
+ *
+ * 실행 : java -jar springmvc.jar --spring.profiles.active=loadtest,virtual-threads
+ * 톰캣 전용 설정이므로 Undertow, Jetty 로 빌드하면 적용되지 않는다.
+ */
+@Slf4j
+@Configuration
+@Profile("virtual-threads")
+@ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("톰캣 요청 처리 스레드를 가상 스레드로 변경합니다.");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual-threads 프로필은 JDK 21 이상에서 실행해야 합니다. java.version="
+                    + System.getProperty("java.version"), e);
+        }
+    }
+}
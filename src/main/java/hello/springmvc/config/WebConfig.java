@@ -0,0 +1,95 @@
+package hello.springmvc.config;
+
+import hello.springmvc.async.HandlerAsyncExecutor;
+import hello.springmvc.basic.request.bind.FastBindArgumentResolver;
+import hello.springmvc.basic.request.header.LazyHeadersArgumentResolver;
+import hello.springmvc.basic.requestmapping.RouteCachingHandlerMapping;
+import hello.springmvc.basic.response.cache.CachedResponseBodyInterceptor;
+import hello.springmvc.metrics.HandlerMetrics;
+import hello.springmvc.metrics.HandlerMetricsInterceptor;
+import hello.springmvc.metrics.TimingRequestMappingHandlerAdapter;
+import hello.springmvc.ratelimit.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final HandlerMetricsInterceptor handlerMetricsInterceptor;
+    private final CachedResponseBodyInterceptor cachedResponseBodyInterceptor;
+    private final FastBindArgumentResolver fastBindArgumentResolver;
+    private final LazyHeadersArgumentResolver lazyHeadersArgumentResolver;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final HandlerAsyncExecutor handlerAsyncExecutor;
+
+    @Value("${hello.metrics.handler.enabled:true}")
+    private boolean handlerMetricsEnabled;
+
+    @Value("${hello.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 과부하 방지는 제일 앞에서 한다. 거절할 요청에 다른 인터셉터 비용을 쓰지 않도록
+        // 스트림은 수십 초씩 열려 있어서 응답 시간 평균을 끌어올리므로 제외한다 (hello.stream.max-concurrent 로 따로 제한)
+        if (rateLimitEnabled) {
+            registry.addInterceptor(rateLimitInterceptor)
+                    .excludePathPatterns("/response-stream/**");
+        }
+        // 측정 인터셉터를 먼저 등록해야 캐시 응답(preHandle 에서 끝나는 요청)까지 측정된다
+        if (handlerMetricsEnabled) {
+            registry.addInterceptor(handlerMetricsInterceptor);
+        }
+        registry.addInterceptor(cachedResponseBodyInterceptor);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(fastBindArgumentResolver);
+        resolvers.add(lazyHeadersArgumentResolver);
+    }
+
+    /**
+     * Callable, StreamingResponseBody 를 실행할 스레드 풀과 비동기 요청 타임아웃 (hello.async.*)
+     * 설정하지 않으면 스프링 부트 applicationTaskExecutor(큐 무제한)를 쓴다
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        handlerAsyncExecutor.configure(configurer);
+    }
+
+    /**
+     * 스프링 부트는 WebMvcRegistrations 빈이 딱 하나일 때만 사용하므로, 스프링 MVC 기본 구성요소 교체는 여기에 모은다.
+     * - RequestMappingHandlerMapping : 경로 -> 핸들러 조회 결과 캐시 (hello.route-cache.enabled)
+     * - RequestMappingHandlerAdapter : 핸들러 처리 단계별 시간 측정 (hello.metrics.handler.enabled)
+     */
+    @Bean
+    public WebMvcRegistrations webMvcRegistrations(@Value("${hello.route-cache.enabled:true}") boolean routeCacheEnabled,
+                                                   @Value("${hello.route-cache.max-size:10000}") int routeCacheMaxSize,
+                                                   HandlerMetrics handlerMetrics) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                // null 을 반환하면 스프링 부트 기본 RequestMappingHandlerMapping 을 사용한다
+                return routeCacheEnabled ? new RouteCachingHandlerMapping(routeCacheMaxSize) : null;
+            }
+
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return handlerMetricsEnabled ? new TimingRequestMappingHandlerAdapter(handlerMetrics) : null;
+            }
+        };
+    }
+}
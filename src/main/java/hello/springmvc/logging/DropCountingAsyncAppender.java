@@ -0,0 +1,89 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 버린 로그 수를 세는 AsyncAppender
+ * - AsyncAppender 는 로그 이벤트를 큐(링 버퍼)에 넣기만 하고, 실제 출력은 별도 워커 스레드가 한다
+ * - 큐 여유가 discardingThreshold 보다 적으면 TRACE/DEBUG/INFO 로그는 버린다 (WARN, ERROR 는 유지)
+ * - neverBlock=true 이면 큐가 가득 차도 요청 스레드를 막지 않고 버린다
+ *
+ * AsyncAppender 는 버린 개수를 알려주지 않고, 큐에 넣는 put() 도 private 이라 재정의할 수 없다.
+ * 큐 여유를 먼저 보고 버리면 검사와 넣기 사이에 다른 스레드가 큐를 채울 수 있어서 덜 세게 된다.
+ * 그래서 워커 스레드가 읽는 큐를 직접 얻어서 append 를 같은 순서로 구현하고, offer 가 실패한 바로 그 이벤트를 센다.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private BlockingQueue<ILoggingEvent> queue;
+
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            queue = workerQueue();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queue == null) {
+            super.append(event); // 큐를 얻지 못했으면 버린 수는 세지 못한다
+            return;
+        }
+        // AsyncAppenderBase.append 와 같은 순서 : 여유가 기준보다 적으면 버릴 수 있는 로그는 버리고, 아니면 큐에 넣는다
+        if (queue.remainingCapacity() < getDiscardingThreshold() && isDiscardable(event)) {
+            DROPPED.increment();
+            return;
+        }
+        preprocess(event);
+        if (isNeverBlock()) {
+            if (!queue.offer(event)) {
+                DROPPED.increment();
+            }
+        } else {
+            putUninterruptibly(event);
+        }
+    }
+
+    private void putUninterruptibly(ILoggingEvent event) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    queue.put(event);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BlockingQueue<ILoggingEvent> workerQueue() {
+        try {
+            Field field = AsyncAppenderBase.class.getDeclaredField("blockingQueue");
+            field.setAccessible(true);
+            return (BlockingQueue<ILoggingEvent>) field.get(this);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            addWarn("AsyncAppender 큐를 찾을 수 없어서 버린 로그 수를 세지 않습니다.", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package hello.springmvc.metrics;
+
+import hello.springmvc.async.HandlerAsyncExecutor;
+import hello.springmvc.basic.requestmapping.RouteCachingHandlerMapping;
+import hello.springmvc.basic.response.stream.HelloDataStreamer;
+import hello.springmvc.logging.DropCountingAsyncAppender;
+import hello.springmvc.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * 애플리케이션에서 직접 세고 있는 값들을 Micrometer 에 등록한다. (/actuator/prometheus 로 노출)
+ * - hello.route.cache.* : 경로 -> 핸들러 조회 캐시 hit / miss / size
+ * - hello.logging.dropped : 비동기 로그 큐가 넘쳐서 버린 로그 수
+ * - hello.rate-limit.* : 과부하 방지로 거절한 요청 수(429, 503), 동시 처리 한도(가장 낮은 경로) / 처리 중인 요청 수
+ * - hello.stream.* : 열려 있는 스트림 수, 보낸 레코드 수, 느린 클라이언트로 끊은 스트림 수
+ * - hello.async.* : 비동기 실행기가 거절한 작업 수, 타임아웃 난 비동기 요청 수
+ *   executor.*{name=mvcAsync} : 비동기 실행기 스레드 / 큐 사용량 (톰캣 스레드는 tomcat.threads.*)
+ *
+ * 아무도 주입받지 않는 빈이므로 lazy-initialization(fast-startup 프로필)에서도 기동 시 만들어지도록 @Lazy(false)
+ */
+@Lazy(false)
+@Component
+public class ApplicationMetrics {
+
+    public ApplicationMetrics(MeterRegistry registry,
+                              @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                              RateLimitInterceptor rateLimitInterceptor,
+                              HelloDataStreamer streamer,
+                              HandlerAsyncExecutor handlerAsyncExecutor) {
+
+        if (handlerMapping instanceof RouteCachingHandlerMapping) {
+            RouteCachingHandlerMapping routeCache = (RouteCachingHandlerMapping) handlerMapping;
+            FunctionCounter.builder("hello.route.cache.hits", routeCache, RouteCachingHandlerMapping::getHits)
+                    .register(registry);
+            FunctionCounter.builder("hello.route.cache.misses", routeCache, RouteCachingHandlerMapping::getMisses)
+                    .register(registry);
+            Gauge.builder("hello.route.cache.size", routeCache, RouteCachingHandlerMapping::getSize)
+                    .register(registry);
+        }
+
+        FunctionCounter.builder("hello.logging.dropped", DropCountingAsyncAppender.class,
+                        appender -> DropCountingAsyncAppender.getDroppedCount())
+                .register(registry);
+
+        FunctionCounter.builder("hello.rate-limit.rejected", rateLimitInterceptor, RateLimitInterceptor::getRateLimitedCount)
+                .tag("reason", "rate")
+                .register(registry);
+        FunctionCounter.builder("hello.rate-limit.rejected", rateLimitInterceptor, RateLimitInterceptor::getShedCount)
+                .tag("reason", "concurrency")
+                .register(registry);
+        if (rateLimitInterceptor.isConcurrencyLimitEnabled()) {
+            // 한도는 경로마다 따로라서, 가장 많이 줄어든 경로의 한도와 전체 처리 중인 요청 수를 본다
+            Gauge.builder("hello.rate-limit.concurrency.limit", rateLimitInterceptor, RateLimitInterceptor::getMinConcurrencyLimit)
+                    .register(registry);
+            Gauge.builder("hello.rate-limit.concurrency.in-flight", rateLimitInterceptor, RateLimitInterceptor::getConcurrencyInFlight)
+                    .register(registry);
+        }
+
+        Gauge.builder("hello.stream.active", streamer, HelloDataStreamer::getActiveStreams)
+                .register(registry);
+        FunctionCounter.builder("hello.stream.records", streamer, HelloDataStreamer::getSentRecords)
+                .register(registry);
+        FunctionCounter.builder("hello.stream.slow-consumers", streamer, HelloDataStreamer::getSlowConsumerCount)
+                .register(registry);
+
+        new ExecutorServiceMetrics(handlerAsyncExecutor.getThreadPoolExecutor(), "mvcAsync", Tags.empty())
+                .bindTo(registry);
+        FunctionCounter.builder("hello.async.rejected", handlerAsyncExecutor, HandlerAsyncExecutor::getRejectedCount)
+                .register(registry);
+        FunctionCounter.builder("hello.async.timeouts", handlerAsyncExecutor, HandlerAsyncExecutor::getTimeoutCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,160 @@
+package hello.springmvc.metrics;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * getOutputStream(), getWriter() 로 쓰는 바이트 수를 세는 응답 래퍼
+ * 바디를 모아두지 않고 원래 응답에 그대로 넘기면서 개수만 센다. (ContentCachingResponseWrapper 와 다르게 메모리를 쓰지 않는다)
+ */
+class CountingHttpServletResponse extends HttpServletResponseWrapper {
+
+    /**
+     * 요청 하나의 응답 바이트 수, 최초 디스패치와 ASYNC 디스패치가 같이 쓴다 (디스패치 사이에는 순서가 보장된다)
+     */
+    static class Counter {
+        private volatile long bytes;
+
+        void add(long count) {
+            bytes += count;
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+    }
+
+    private final Counter counter;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingHttpServletResponse(HttpServletResponse response, Counter counter) {
+        super(response);
+        this.counter = counter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream(), counter);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new CountingWriter(super.getWriter(), Charset.forName(getCharacterEncoding()), counter);
+        }
+        return writer;
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final Counter counter;
+
+        CountingOutputStream(ServletOutputStream delegate, Counter counter) {
+            this.delegate = delegate;
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            counter.add(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            counter.add(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * 원래 응답의 Writer 에 그대로 쓰고, 문자 수가 아니라 응답 charset 으로 인코딩했을 때의 바이트 수를 센다
+     */
+    private static class CountingWriter extends PrintWriter {
+        private final Charset charset;
+        private final Counter counter;
+
+        CountingWriter(PrintWriter delegate, Charset charset, Counter counter) {
+            super(delegate);
+            this.charset = charset;
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int c) {
+            super.write(c);
+            counter.add(encodedLength(String.valueOf((char) c)));
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            super.write(buf, off, len);
+            counter.add(encodedLength(CharBuffer.wrap(buf, off, len)));
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            super.write(s, off, len);
+            counter.add(encodedLength(CharBuffer.wrap(s, off, off + len)));
+        }
+
+        private long encodedLength(CharSequence chars) {
+            if (charset.equals(StandardCharsets.UTF_8)) {
+                return utf8Length(chars);
+            }
+            if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+                return chars.length();
+            }
+            return charset.encode(CharBuffer.wrap(chars)).remaining();
+        }
+
+        // 인코딩하지 않고 UTF-8 바이트 수만 계산한다
+        private static long utf8Length(CharSequence chars) {
+            long length = 0;
+            for (int i = 0; i < chars.length(); i++) {
+                char c = chars.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c)) {
+                    length += 4; // 서로게이트 쌍 = 4바이트 (짝인 low 서로게이트는 따로 쓰여도 0 으로 센다)
+                } else if (!Character.isLowSurrogate(c)) {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+    }
+}
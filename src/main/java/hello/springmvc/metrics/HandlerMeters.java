@@ -0,0 +1,55 @@
+package hello.springmvc.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+/**
+ * 핸들러(@RequestMapping 메서드) 하나의 측정값 묶음
+ * - requests                : 요청 전체 처리 시간 (인터셉터 preHandle ~ afterCompletion)
+ * - phase=argument-resolution : @RequestParam, @RequestBody 등 파라미터 준비(바인딩, 메시지 바디 변환)
+ * - phase=handler             : 컨트롤러 메서드 본문 실행
+ * - phase=return-value        : 반환값 처리 (@ResponseBody 메시지 컨버터, 뷰 이름 처리 등)
+ * - request.bytes  : Content-Length 를 알 수 있는 경우만 기록
+ * - response.bytes : 실제로 쓴 응답 바디 바이트 수 (ResponseBytesCountingFilter, 압축 전)
+ */
+@Getter
+public class HandlerMeters {
+
+    private final Timer requests;
+    private final Timer argumentResolution;
+    private final Timer handler;
+    private final Timer returnValue;
+    private final DistributionSummary requestBytes;
+    private final DistributionSummary responseBytes;
+
+    public HandlerMeters(MeterRegistry registry, String handlerName, String uri) {
+        this.requests = Timer.builder("hello.handler.requests")
+                .description("핸들러별 요청 처리 시간")
+                .tag("handler", handlerName).tag("uri", uri)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.argumentResolution = phase(registry, handlerName, uri, "argument-resolution");
+        this.handler = phase(registry, handlerName, uri, "handler");
+        this.returnValue = phase(registry, handlerName, uri, "return-value");
+        this.requestBytes = bytes(registry, "hello.handler.request.bytes", handlerName, uri);
+        this.responseBytes = bytes(registry, "hello.handler.response.bytes", handlerName, uri);
+    }
+
+    private static Timer phase(MeterRegistry registry, String handlerName, String uri, String phase) {
+        return Timer.builder("hello.handler.phase")
+                .description("핸들러 처리 단계별 시간")
+                .tag("handler", handlerName).tag("uri", uri).tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary bytes(MeterRegistry registry, String name, String handlerName, String uri) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("handler", handlerName).tag("uri", uri)
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package hello.springmvc.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 핸들러 메서드 + 경로 패턴별 HandlerMeters 를 만들고 재사용한다.
+ * 요청마다 태그를 만들어서 미터를 찾지 않도록, 처음 호출될 때 한 번만 만들어서 Method -> 경로 패턴 순으로 보관한다.
+ * 경로 패턴까지 나누는 이유 : @GetMapping({"/hello-basic", "/hello-go"}) 처럼 메서드 하나에 경로가 여러 개일 수 있다
+ */
+@Component
+@RequiredArgsConstructor
+public class HandlerMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<Method, Map<String, HandlerMeters>> meters = new ConcurrentHashMap<>();
+
+    public HandlerMeters meters(Method method, HttpServletRequest request) {
+        String uri = uri(request); // 매핑에 만들어둔 패턴 문자열을 그대로 쓰므로 새 문자열을 만들지 않는다
+        Map<String, HandlerMeters> byUri = meters.get(method); // 대부분 여기서 끝난다 (computeIfAbsent 의 람다 생성 비용도 피한다)
+        if (byUri == null) {
+            byUri = meters.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        HandlerMeters found = byUri.get(uri);
+        if (found != null) {
+            return found;
+        }
+        return byUri.computeIfAbsent(uri, u -> new HandlerMeters(registry, handlerName(method), u));
+    }
+
+    private static String handlerName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
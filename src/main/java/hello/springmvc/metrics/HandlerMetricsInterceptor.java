@@ -0,0 +1,56 @@
+package hello.springmvc.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸들러별 전체 처리 시간과 요청/응답 바이트 수를 기록한다. (응답 바이트 수는 ResponseBytesCountingFilter 가 센다)
+ * 단계별 시간(파라미터 준비, 본문, 반환값 처리)은 TimingServletInvocableHandlerMethod 가 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HandlerMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME = HandlerMetricsInterceptor.class.getName() + ".startTime";
+
+    private final HandlerMetrics handlerMetrics;
+
+    /**
+     * 비동기 요청(Callable, DeferredResult ...)은 결과를 쓰러 ASYNC 로 한 번 더 디스패치된다.
+     * 그때 다시 시작 시간을 찍으면 기다린 시간이 빠지므로, 최초 요청에서만 찍고 ASYNC 디스패치의 afterCompletion 에서 기록한다.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_TIME, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startTime = request.getAttribute(START_TIME);
+        if (!(handler instanceof HandlerMethod) || startTime == null) {
+            return;
+        }
+
+        HandlerMeters meters = handlerMetrics.meters(((HandlerMethod) handler).getMethod(), request);
+        meters.getRequests().record(System.nanoTime() - (Long) startTime, TimeUnit.NANOSECONDS);
+
+        long requestBytes = request.getContentLengthLong();
+        if (requestBytes >= 0) {
+            meters.getRequestBytes().record(requestBytes);
+        }
+        Object counter = request.getAttribute(ResponseBytesCountingFilter.COUNTER_ATTRIBUTE);
+        if (counter != null) {
+            meters.getResponseBytes().record(((CountingHttpServletResponse.Counter) counter).getBytes());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hello.springmvc.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 응답 바디로 실제로 쓴 바이트 수를 센다. (HandlerMetricsInterceptor -> hello.handler.response.bytes)
+ * Jackson 메시지 컨버터나 스트리밍 응답은 Content-Length 헤더를 쓰지 않으므로, 헤더 대신 출력 스트림을 지나가는 바이트를 센다.
+ * - 응답 압축(server.compression)은 서블릿 컨테이너가 그 아래에서 하므로 압축 전 크기다
+ * - 비동기 요청은 ASYNC 디스패치에서도 다시 감싸고, 요청 속성에 둔 같은 카운터에 이어서 센다
+ */
+@Component
+@ConditionalOnProperty(name = "hello.metrics.handler.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseBytesCountingFilter extends OncePerRequestFilter implements OrderedFilter {
+
+    public static final String COUNTER_ATTRIBUTE = ResponseBytesCountingFilter.class.getName() + ".counter";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        CountingHttpServletResponse.Counter counter = (CountingHttpServletResponse.Counter) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            counter = new CountingHttpServletResponse.Counter();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+        filterChain.doFilter(request, new CountingHttpServletResponse(response, counter));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * 응답 바디를 건드리는 다른 필터보다 바깥(먼저)에서 감싼다
+     */
+    @Override
+    public int getOrder() {
+        return REQUEST_WRAPPER_FILTER_MAX_ORDER - 110;
+    }
+}
@@ -0,0 +1,50 @@
+package hello.springmvc.metrics;
+
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸들러 호출 객체를 TimingServletInvocableHandlerMethod 로 바꿔서 단계별 시간을 잰다.
+ *
+ * Callable, DeferredResult, CompletableFuture 의 결과는 ASYNC 디스패치에서 처리되는데, 이때 스프링은
+ * 호출 객체를 wrapConcurrentResult(package-private) 가 만든 객체로 바꿔서 Timing 객체를 거치지 않는다.
+ * 그래서 비동기 결과 처리(메시지 컨버터로 쓰기)는 여기서 통째로 재서 return-value 단계로 기록한다.
+ */
+public class TimingRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final HandlerMetrics handlerMetrics;
+
+    public TimingRequestMappingHandlerAdapter(HandlerMetrics handlerMetrics) {
+        this.handlerMetrics = handlerMetrics;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        return new TimingServletInvocableHandlerMethod(handlerMethod, handlerMetrics);
+    }
+
+    @Override
+    protected ModelAndView invokeHandlerMethod(HttpServletRequest request, HttpServletResponse response,
+                                               HandlerMethod handlerMethod) throws Exception {
+        // super 가 결과를 꺼내면서 지우므로 호출 전에 확인한다
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        if (!asyncManager.hasConcurrentResult() || asyncManager.getConcurrentResult() instanceof Throwable) {
+            // 최초 요청은 Timing 객체가 잰다. 비동기 처리가 예외로 끝났으면 반환값 처리 없이 예외를 다시 던지므로 재지 않는다
+            return super.invokeHandlerMethod(request, response, handlerMethod);
+        }
+
+        long start = System.nanoTime();
+        ModelAndView modelAndView = super.invokeHandlerMethod(request, response, handlerMethod);
+        handlerMetrics.meters(handlerMethod.getMethod(), request).getReturnValue()
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return modelAndView;
+    }
+}
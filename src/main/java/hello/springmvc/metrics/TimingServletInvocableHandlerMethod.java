@@ -0,0 +1,79 @@
+package hello.springmvc.metrics;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸들러 호출을 단계별로 나눠서 시간을 잰다.
+ * invokeAndHandle = 파라미터 준비(getMethodArgumentValues) + 메서드 본문(doInvoke) + 반환값 처리
+ * 요청마다 새로 만들어지는 객체이므로, 측정값을 필드에 잠깐 담아도 다른 요청과 섞이지 않는다.
+ *
+ * 실제로 실행된 단계만 기록한다.
+ * - 파라미터 준비에서 예외가 나면(바인딩 실패 등) 메서드 본문과 반환값 처리는 기록하지 않는다
+ * - 메서드 본문에서 예외가 나면 반환값 처리는 기록하지 않는다
+ * - 비동기(Callable 등)를 시작했으면 결과 처리는 ASYNC 디스패치에서 잰다 (TimingRequestMappingHandlerAdapter)
+ */
+public class TimingServletInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+    private final HandlerMetrics handlerMetrics;
+
+    // -1 : 해당 단계가 실행되지 않음
+    private long argumentNanos = -1;
+    private long handlerNanos = -1;
+    private boolean handlerReturned;
+
+    public TimingServletInvocableHandlerMethod(HandlerMethod handlerMethod, HandlerMetrics handlerMetrics) {
+        super(handlerMethod);
+        this.handlerMetrics = handlerMetrics;
+    }
+
+    @Override
+    public void invokeAndHandle(ServletWebRequest webRequest, ModelAndViewContainer mavContainer,
+                                Object... providedArgs) throws Exception {
+        long start = System.nanoTime();
+        try {
+            super.invokeAndHandle(webRequest, mavContainer, providedArgs);
+        } finally {
+            long total = System.nanoTime() - start;
+            HandlerMeters meters = handlerMetrics.meters(getMethod(), webRequest.getRequest());
+            if (argumentNanos >= 0) {
+                meters.getArgumentResolution().record(argumentNanos, TimeUnit.NANOSECONDS);
+            }
+            if (handlerNanos >= 0) {
+                meters.getHandler().record(handlerNanos, TimeUnit.NANOSECONDS);
+            }
+            if (handlerReturned && !WebAsyncUtils.getAsyncManager(webRequest).isConcurrentHandlingStarted()) {
+                meters.getReturnValue().record(Math.max(total - argumentNanos - handlerNanos, 0), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    protected Object[] getMethodArgumentValues(NativeWebRequest request, ModelAndViewContainer mavContainer,
+                                               Object... providedArgs) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return super.getMethodArgumentValues(request, mavContainer, providedArgs);
+        } finally {
+            argumentNanos = System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    protected Object doInvoke(Object... args) throws Exception {
+        long start = System.nanoTime();
+        try {
+            Object returnValue = super.doInvoke(args);
+            handlerReturned = true;
+            return returnValue;
+        } finally {
+            handlerNanos = System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hello.springmvc.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동시 처리 요청 수 제한 (AIMD : 느려지면 확 줄이고, 괜찮으면 하나씩 늘린다)
+ * - 처리 중인 요청 수가 limit 이상이면 새 요청을 바로 거절한다 (503)
+ * - 응답 시간 이동 평균이 latencyThreshold 를 넘으면 limit 을 decreaseRatio 배로 줄인다 (window 당 최대 1번)
+ * - 그렇지 않고 limit 만큼 꽉 차서 처리 중이면 limit 을 1 늘린다
+ * ==> 핸들러가 느려지면(DB, 외부 API 지연 등) 대기열이 쌓이기 전에 요청을 덜어낸다.
+ *
+ * 이동 평균, limit 갱신은 정확할 필요가 없어서 경합 시 일부 샘플이 빠져도 그냥 둔다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_RATIO = 0.9;
+    private static final int SMOOTHING_SHIFT = 4; // 이동 평균 가중치 1/16
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+    private volatile long averageLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, long windowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.windowNanos = windowNanos;
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(initialLimit, maxLimit)));
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos, long nowNanos) {
+        int current = inFlight.getAndDecrement();
+
+        long average = averageLatencyNanos;
+        average += (latencyNanos - average) >> SMOOTHING_SHIFT;
+        averageLatencyNanos = average;
+
+        int currentLimit = limit.get();
+        if (average > latencyThresholdNanos) {
+            long last = lastDecrease.get();
+            if (nowNanos - last >= windowNanos && lastDecrease.compareAndSet(last, nowNanos)) {
+                limit.compareAndSet(currentLimit, Math.max(minLimit, (int) (currentLimit * DECREASE_RATIO)));
+            }
+        } else if (current >= currentLimit && currentLimit < maxLimit) {
+            limit.compareAndSet(currentLimit, currentLimit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAverageLatencyNanos() {
+        return averageLatencyNanos;
+    }
+}
@@ -0,0 +1,169 @@
+package hello.springmvc.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 과부하 방지 인터셉터
+ * 1. 경로별 / 클라이언트별 토큰 버킷 (hello.rate-limit.routes) : 넘으면 429 Too Many Requests + Retry-After
+ * 2. 경로별 적응형 동시 처리 수 제한 (hello.rate-limit.concurrency) : 넘으면 503 Service Unavailable
+ *
+ * 경로는 핸들러 매핑이 찾은 패턴(BEST_MATCHING_PATTERN_ATTRIBUTE)으로 구분하므로
+ * /mapping/users/userA, /mapping/users/userB 는 같은 /mapping/users/{userId} 한도를 나눠 쓴다.
+ * 동시 처리 한도도 패턴마다 따로 둔다. 한 경로가 느려져도 그 경로의 한도만 줄고 다른 경로는 영향이 없다.
+ * 일부러 느리게 만든 데모 경로는 concurrency.excluded-routes 로 뺀다.
+ * 비동기 요청은 최초 요청에서 허가를 받고, 비동기 처리가 끝난 뒤(afterCompletion)에 반납한다.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME = RateLimitInterceptor.class.getName() + ".startTime";
+    private static final String CONCURRENCY_LIMITER = RateLimitInterceptor.class.getName() + ".concurrencyLimiter";
+
+    private final Map<String, RouteRateLimiter> routeLimiters = new HashMap<>();
+
+    private final RateLimitProperties.Concurrency concurrency;
+    private final Set<String> concurrencyExcludedRoutes;
+    // 패턴 -> 동시 처리 한도, 패턴은 등록된 매핑 수만큼만 생긴다
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        properties.getRoutes().forEach((pattern, route) ->
+                routeLimiters.put(pattern, new RouteRateLimiter(route, properties.getMaxClients())));
+
+        this.concurrency = properties.getConcurrency();
+        this.concurrencyExcludedRoutes = new HashSet<>(concurrency.getExcludedRoutes());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        RouteRateLimiter routeLimiter = pattern == null ? null : routeLimiters.get(pattern.toString());
+        if (routeLimiter != null) {
+            long waitNanos = routeLimiter.tryAcquire(request.getRemoteAddr(), now);
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+                return false;
+            }
+        }
+
+        AdaptiveConcurrencyLimiter concurrencyLimiter = pattern == null ? null : concurrencyLimiter(pattern.toString());
+        if (concurrencyLimiter != null) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                shed.increment();
+                log.debug("동시 처리 한도 초과 limit={}, pattern={}", concurrencyLimiter.getLimit(), pattern);
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return false;
+            }
+            request.setAttribute(CONCURRENCY_LIMITER, concurrencyLimiter);
+            request.setAttribute(START_TIME, now);
+        }
+        return true;
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter(String pattern) {
+        if (!concurrency.isEnabled() || concurrencyExcludedRoutes.contains(pattern)) {
+            return null;
+        }
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(pattern);
+        if (limiter == null) {
+            limiter = concurrencyLimiters.computeIfAbsent(pattern, key -> new AdaptiveConcurrencyLimiter(
+                    concurrency.getInitialLimit(), concurrency.getMinLimit(), concurrency.getMaxLimit(),
+                    TimeUnit.MILLISECONDS.toNanos(concurrency.getLatencyThresholdMs()),
+                    TimeUnit.MILLISECONDS.toNanos(concurrency.getWindowMs())));
+        }
+        return limiter;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startTime = request.getAttribute(START_TIME);
+        if (startTime == null) {
+            return;
+        }
+        AdaptiveConcurrencyLimiter concurrencyLimiter = (AdaptiveConcurrencyLimiter) request.getAttribute(CONCURRENCY_LIMITER);
+        request.removeAttribute(START_TIME); // 한 번만 반납
+        request.removeAttribute(CONCURRENCY_LIMITER);
+        long now = System.nanoTime();
+        concurrencyLimiter.release(now - (Long) startTime, now);
+    }
+
+    /**
+     * 토큰 버킷 한도로 거절한 요청 수 (429)
+     */
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * 동시 처리 한도로 거절한 요청 수 (503)
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrency.isEnabled();
+    }
+
+    /**
+     * 경로 패턴 -> 동시 처리 한도 (요청이 들어온 경로만)
+     */
+    public Map<String, AdaptiveConcurrencyLimiter> getConcurrencyLimiters() {
+        return concurrencyLimiters;
+    }
+
+    /**
+     * 가장 많이 줄어든 경로의 동시 처리 한도 (요청이 들어온 경로가 없으면 initial-limit)
+     */
+    public int getMinConcurrencyLimit() {
+        int min = concurrency.getInitialLimit();
+        for (AdaptiveConcurrencyLimiter limiter : concurrencyLimiters.values()) {
+            min = Math.min(min, limiter.getLimit());
+        }
+        return min;
+    }
+
+    /**
+     * 모든 경로의 처리 중인 요청 수 합
+     */
+    public int getConcurrencyInFlight() {
+        int inFlight = 0;
+        for (AdaptiveConcurrencyLimiter limiter : concurrencyLimiters.values()) {
+            inFlight += limiter.getInFlight();
+        }
+        return inFlight;
+    }
+
+    public Map<String, RouteRateLimiter> getRouteLimiters() {
+        return routeLimiters;
+    }
+}
@@ -0,0 +1,76 @@
+package hello.springmvc.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * hello.rate-limit.* 설정
+ * routes 의 key 는 @RequestMapping 에 적은 경로 패턴 그대로 쓴다. ({, } 가 있으므로 [] 로 감싼다)
+ * ex) hello.rate-limit.routes[/mapping/users/{userId}].rate=1000
+ *     hello.rate-limit.routes[/mapping/users/{userId}].burst=100
+ *     hello.rate-limit.routes[/mapping/users/{userId}].client-rate=10
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("hello.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 경로마다 클라이언트별 버킷 최대 개수, 가득 차면 한동안 요청이 없던 클라이언트의 버킷을 정리하고
+     * 그래도 자리가 없으면 새 클라이언트는 429 로 거절한다
+     */
+    private int maxClients = 10_000;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /**
+         * 경로 전체 초당 허용 요청 수 (0 이면 제한 없음)
+         */
+        private double rate;
+        private int burst = 1;
+        /**
+         * 클라이언트(IP)별 초당 허용 요청 수 (0 이면 제한 없음)
+         */
+        private double clientRate;
+        private int clientBurst = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        /**
+         * 기본은 끈다. 켜면 경로 패턴마다 한도를 따로 둔다
+         */
+        private boolean enabled = false;
+        private int initialLimit = 200;
+        private int minLimit = 10;
+        private int maxLimit = 1000;
+        /**
+         * 응답 시간 이동 평균이 이 값을 넘으면 limit 을 줄인다
+         */
+        private long latencyThresholdMs = 500;
+        /**
+         * limit 을 줄이는 최소 간격
+         */
+        private long windowMs = 100;
+        /**
+         * 동시 처리 한도를 걸지 않는 경로 패턴 (일부러 느리게 만든 경로 등)
+         */
+        private List<String> excludedRoutes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,89 @@
+package hello.springmvc.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로 하나의 제한 : 경로 전체 버킷 + 클라이언트별 버킷
+ * 클라이언트 버킷은 maxClients 개까지만 둔다. 가득 차면 한동안 요청이 없던 버킷을 정리하고,
+ * 그래도 자리가 없으면(모두 활발한 클라이언트) 새 클라이언트는 버킷을 만들지 않고 거절한다.
+ */
+public class RouteRateLimiter {
+
+    // 가득 찼을 때 정리(전체 순회)는 이 간격에 한 번만 한다. 새 클라이언트가 몰려도 요청마다 순회하지 않도록
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 자리가 없어서 거절한 새 클라이언트에게 알려줄 대기 시간
+    private static final long FULL_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TokenBucket routeBucket;
+
+    private final double clientRate;
+    private final int clientBurst;
+    private final int maxClients;
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+    private final LongAdder rejectedNewClients = new LongAdder();
+
+    public RouteRateLimiter(RateLimitProperties.Route route, int maxClients) {
+        this.routeBucket = route.getRate() > 0 ? new TokenBucket(route.getRate(), route.getBurst()) : null;
+        this.clientRate = route.getClientRate();
+        this.clientBurst = route.getClientBurst();
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * @return 0 이면 허용, 0 보다 크면 거절 (다시 시도할 때까지 기다려야 하는 나노초)
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        // 클라이언트 한도를 먼저 본다. 한 클라이언트가 경로 전체 한도를 다 써버리지 않도록
+        if (clientRate > 0) {
+            TokenBucket clientBucket = clientBuckets.get(client);
+            if (clientBucket == null) {
+                if (clientBuckets.size() >= maxClients && !evictIdle(nowNanos)) {
+                    rejectedNewClients.increment();
+                    return FULL_RETRY_NANOS;
+                }
+                // 동시에 들어온 새 클라이언트 수(스레드 수)만큼은 maxClients 를 잠깐 넘을 수 있다
+                clientBucket = clientBuckets.computeIfAbsent(client, key -> new TokenBucket(clientRate, clientBurst));
+            }
+            long waitNanos = clientBucket.tryAcquire(nowNanos);
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+        }
+        return routeBucket == null ? 0 : routeBucket.tryAcquire(nowNanos);
+    }
+
+    public int getClientCount() {
+        return clientBuckets.size();
+    }
+
+    /**
+     * 클라이언트 버킷이 가득 차서 거절한 새 클라이언트 요청 수
+     */
+    public long getRejectedNewClientCount() {
+        return rejectedNewClients.sum();
+    }
+
+    /**
+     * 가득 찬(한동안 요청이 없던) 버킷은 새로 만든 것과 같으므로 지운다.
+     * EVICTION_INTERVAL 마다 한 스레드만 정리한다.
+     *
+     * @return 새 클라이언트 버킷을 만들 자리가 있으면 true
+     */
+    private boolean evictIdle(long nowNanos) {
+        long next = nextEviction.get();
+        if (nowNanos - next >= 0 && nextEviction.compareAndSet(next, nowNanos + EVICTION_INTERVAL_NANOS)) {
+            for (Iterator<TokenBucket> it = clientBuckets.values().iterator(); it.hasNext(); ) {
+                if (it.next().isIdle(nowNanos)) {
+                    it.remove();
+                }
+            }
+        }
+        return clientBuckets.size() < maxClients;
+    }
+}
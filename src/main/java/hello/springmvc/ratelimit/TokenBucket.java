@@ -0,0 +1,54 @@
+package hello.springmvc.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA : Generic Cell Rate Algorithm)
+ * 토큰 개수를 세는 대신 "다음 요청이 이론상 도착해야 하는 시각(TAT)" 하나만 AtomicLong 으로 들고 있는다.
+ * - 요청 1개마다 TAT 를 interval(= 1초 / rate) 만큼 뒤로 민다
+ * - TAT 가 현재 시각보다 burst 개 분량 이상 앞서 있으면 거절한다
+ * ==> 상태가 long 하나라서 CAS 한 번으로 처리되고, 토큰을 채우는 타이머도 필요 없다.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param ratePerSecond 초당 허용 요청 수
+     * @param burst         한 번에 몰려도 허용하는 요청 수
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate 는 0 보다, burst 는 1 이상이어야 합니다. rate=" + ratePerSecond + ", burst=" + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * @return 0 이면 허용, 0 보다 크면 거절이고 그만큼(나노초) 기다린 뒤 다시 시도하면 된다
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat == Long.MIN_VALUE || tat - nowNanos < 0 ? nowNanos : tat;
+            long waitNanos = start - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 가득 찬 상태(마지막 요청 이후 충분히 시간이 지남)면 새로 만든 버킷과 같으므로 지워도 된다.
+     */
+    public boolean isIdle(long nowNanos) {
+        long tat = theoreticalArrival.get();
+        return tat == Long.MIN_VALUE || tat - nowNanos <= 0;
+    }
+}
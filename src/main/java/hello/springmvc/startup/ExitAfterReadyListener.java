@@ -0,0 +1,59 @@
+package hello.springmvc.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * CDS 아카이브 생성용 학습 실행 (hello.startup.exit-after-ready=true)
+ * 애플리케이션이 뜨면 warmup-paths 를 한 번씩 호출하고 바로 종료한다.
+ * - 요청까지 한 번 처리해야 DispatcherServlet 초기화, 첫 요청 처리에 쓰이는 클래스도 아카이브에 들어간다.
+ * - JVM 이 정상 종료될 때 -XX:ArchiveClassesAtExit 로 지정한 파일에 로딩된 클래스를 기록한다.
+ * 실행 : ./gradlew cdsArchive
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hello.startup.exit-after-ready", havingValue = "true")
+public class ExitAfterReadyListener {
+
+    private final String[] warmupPaths;
+
+    public ExitAfterReadyListener(@Value("${hello.startup.warmup-paths:/hello-basic}") String[] warmupPaths) {
+        this.warmupPaths = warmupPaths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = context.getEnvironment().getProperty("local.server.port", Integer.class, -1);
+        if (port > 0) {
+            for (String path : warmupPaths) {
+                warmUp("http://localhost:" + port + path);
+            }
+        }
+        log.info("exit after ready");
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void warmUp(String url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            try (InputStream body = connection.getInputStream()) {
+                body.readAllBytes();
+            }
+            log.info("warm-up request. url={}, status={}", url, connection.getResponseCode());
+        } catch (IOException e) {
+            log.warn("warm-up request failed. url={}", url, e);
+        }
+    }
+}
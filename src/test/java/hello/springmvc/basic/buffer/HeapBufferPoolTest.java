@@ -0,0 +1,70 @@
+package hello.springmvc.basic.buffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeapBufferPoolTest {
+
+    private final HeapBufferPool pool = new HeapBufferPool(new int[]{1024, 4096, 16384}, 4, true);
+    private final PooledBodyReader bodyReader = new PooledBodyReader(pool);
+
+    @AfterEach
+    void noLeaks() {
+        assertThat(pool.getLeaks()).isEmpty();
+        assertThat(pool.getOutstanding()).isZero();
+    }
+
+    @Test
+    void acquireSmallestSizeClassAndReuse() {
+        byte[] buffer = pool.acquire(2000);
+        assertThat(buffer).hasSize(4096);
+        pool.release(buffer);
+
+        byte[] reused = pool.acquire(3000);
+        assertThat(reused).isSameAs(buffer);
+        pool.release(reused);
+        assertThat(pool.getAllocated()).isEqualTo(1);
+    }
+
+    @Test
+    void detectLeakAndDoubleRelease() {
+        byte[] buffer = pool.acquire(100);
+        assertThat(pool.getLeaks()).hasSize(1);
+        assertThat(pool.getLeaks().get(0).getStackTrace()[0].getMethodName()).isEqualTo("acquire");
+
+        pool.release(buffer);
+        assertThatThrownBy(() -> pool.release(buffer)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void readBodyLargerThanInitialBuffer() throws IOException {
+        String body = "a".repeat(10_000);
+        String read = bodyReader.readString(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), -1, StandardCharsets.UTF_8);
+        assertThat(read).isEqualTo(body);
+    }
+
+    @Test
+    void ignoreLargeContentLengthWithShortBody() throws IOException {
+        int bufferLength = bodyReader.read(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)),
+                2_000_000_000L, (body, length) -> {
+                    assertThat(new String(body, 0, length, StandardCharsets.UTF_8)).isEqualTo("hello");
+                    return body.length;
+                });
+        assertThat(bufferLength).isLessThanOrEqualTo(pool.getMaxPooledSize());
+    }
+
+    @Test
+    void releaseWhenCallbackFails() {
+        assertThatThrownBy(() -> bodyReader.read(new ByteArrayInputStream(new byte[10]), 10, (body, length) -> {
+            throw new IOException("parse error");
+        })).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package hello.springmvc.basic.requestmapping.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectOpenHashMapTest {
+
+    @Test
+    void removeAtEndOfTableShiftsWrappedEntriesBack() {
+        LongObjectOpenHashMap<String> map = new LongObjectOpenHashMap<>(4);
+        int capacity = map.capacity();
+        // 마지막 칸이 원래 위치인 key 3개 (마지막 칸, 0, 1 로 감싸서 들어간다) + 0 번 칸이 원래 위치인 key (2 번 칸)
+        long[] last = keysWithSlot(capacity - 1, capacity, 3);
+        long first = keysWithSlot(0, capacity, 1)[0];
+        for (long key : last) {
+            map.put(key, "v" + key);
+        }
+        map.put(first, "v" + first);
+
+        assertThat(map.remove(last[0])).isEqualTo("v" + last[0]);
+
+        assertThat(map.get(last[0])).isNull();
+        assertThat(map.remove(last[0])).isNull();
+        assertThat(map.get(last[1])).isEqualTo("v" + last[1]);
+        assertThat(map.get(last[2])).isEqualTo("v" + last[2]);
+        assertThat(map.get(first)).isEqualTo("v" + first);
+
+        assertThat(map.remove(last[2])).isEqualTo("v" + last[2]);
+        assertThat(map.get(last[1])).isEqualTo("v" + last[1]);
+        assertThat(map.get(first)).isEqualTo("v" + first);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.capacity()).isEqualTo(capacity);
+    }
+
+    @Test
+    void probeChainStaysReachableAfterRemovals() {
+        LongObjectOpenHashMap<String> map = new LongObjectOpenHashMap<>(4);
+        long[] keys = keysWithSlot(3, map.capacity(), 5);
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+
+        map.remove(keys[1]);
+        map.remove(keys[3]);
+
+        assertThat(map.get(keys[0])).isEqualTo("v" + keys[0]);
+        assertThat(map.get(keys[1])).isNull();
+        assertThat(map.get(keys[2])).isEqualTo("v" + keys[2]);
+        assertThat(map.get(keys[3])).isNull();
+        assertThat(map.get(keys[4])).isEqualTo("v" + keys[4]);
+        assertThat(map.size()).isEqualTo(3);
+
+        // 다시 넣어도 중복 없이 한 칸씩만 쓴다
+        assertThat(map.put(keys[1], "new")).isNull();
+        assertThat(map.put(keys[4], "new")).isEqualTo("v" + keys[4]);
+        assertThat(map.get(keys[1])).isEqualTo("new");
+        assertThat(map.get(keys[4])).isEqualTo("new");
+        assertThat(map.size()).isEqualTo(4);
+    }
+
+    @Test
+    void resizeKeepsAllEntries() {
+        LongObjectOpenHashMap<String> map = new LongObjectOpenHashMap<>(4);
+        int initialCapacity = map.capacity();
+        for (long key = 0; key <= 1000; key++) {
+            map.put(key, "v" + key);
+        }
+
+        assertThat(map.capacity()).isGreaterThan(initialCapacity);
+        assertThat(map.size()).isEqualTo(1001);
+        for (long key = 0; key <= 1000; key++) {
+            assertThat(map.get(key)).isEqualTo("v" + key);
+        }
+
+        for (long key = 1; key <= 1000; key += 2) {
+            assertThat(map.remove(key)).isEqualTo("v" + key);
+        }
+        assertThat(map.size()).isEqualTo(501);
+        for (long key = 0; key <= 1000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? "v" + key : null);
+        }
+    }
+
+    @Test
+    void sameResultsAsHashMap() {
+        LongObjectOpenHashMap<String> map = new LongObjectOpenHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for (long key = 0; key < 300; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        List<String> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertThat(values).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+
+    /**
+     * 원래 위치(hash & mask)가 slot 인 key 를 count 개 찾는다
+     */
+    private static long[] keysWithSlot(int slot, int capacity, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if ((LongObjectOpenHashMap.hash(key) & (capacity - 1)) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
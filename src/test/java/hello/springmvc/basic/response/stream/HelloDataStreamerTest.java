@@ -0,0 +1,107 @@
+package hello.springmvc.basic.response.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.json.JsonCodecRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HelloDataStreamerTest {
+
+    private static final long RECORDS = 1_500_000;
+    private static final long MAX_HEAP_GROWTH = 16 * 1024 * 1024; // 같은 수의 HelloData 를 List 로 모으면 100MB 이상
+
+    private final HelloDataStreamProperties properties = new HelloDataStreamProperties();
+
+    private HelloDataStreamer streamer() {
+        return new HelloDataStreamer(properties, new JsonCodecRegistry(new ObjectMapper()), new SimpleAsyncTaskExecutor());
+    }
+
+    @Test
+    void streamMillionsOfRecordsWithConstantHeap() throws IOException {
+        HelloDataStreamer streamer = streamer();
+        long before = usedHeap();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(RECORDS / 5);
+
+        streamer.writeNdjson(out, RECORDS);
+
+        assertThat(out.records).isEqualTo(RECORDS);
+        assertThat(out.maxUsedHeap - before).isLessThan(MAX_HEAP_GROWTH);
+        assertThat(streamer.getSentRecords()).isEqualTo(RECORDS);
+    }
+
+    @Test
+    void abortSlowConsumer() {
+        properties.setSlowConsumerMs(20);
+        properties.setFlushRecords(100);
+        HelloDataStreamer streamer = streamer();
+
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushes.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        };
+
+        assertThatThrownBy(() -> streamer.writeNdjson(slow, 1_000)).isInstanceOf(SlowConsumerException.class);
+        assertThat(streamer.getSlowConsumerCount()).isEqualTo(1);
+        // 끊은 뒤 생성기를 닫을 때 막힌 스트림을 다시 flush 하지 않는다
+        assertThat(flushes).hasValue(1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 쓴 내용은 버리고, 줄 수(레코드 수)를 세다가 sampleEvery 개마다 GC 후 힙 사용량을 잰다
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final long sampleEvery;
+        private long records;
+        private long maxUsedHeap;
+
+        HeapSamplingOutputStream(long sampleEvery) {
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n' && ++records % sampleEvery == 0) {
+                    maxUsedHeap = Math.max(maxUsedHeap, usedHeap());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package hello.springmvc.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HandlerMetricsInterceptorTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void asyncHandlerLatencyIncludesWait() throws Exception {
+        MvcResult result = mockMvc.perform(post("/request-body-json-v3-future")
+                        .param("delayMs", "200")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"hello\",\"age\":20}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ok"));
+
+        Timer timer = registry.find("hello.handler.requests")
+                .tag("handler", "RequestBodyJsonController.requestBodyJsonV3Future")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+
+        // Content-Length 헤더 없이 쓴 응답 바디("ok")도 센다
+        DistributionSummary responseBytes = registry.find("hello.handler.response.bytes")
+                .tag("handler", "RequestBodyJsonController.requestBodyJsonV3Future")
+                .summary();
+        assertThat(responseBytes).isNotNull();
+        assertThat(responseBytes.totalAmount()).isEqualTo(2);
+
+        // 비동기 결과 쓰기는 ASYNC 디스패치에서 return-value 단계로 한 번 기록된다
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3Future", "argument-resolution").count()).isEqualTo(1);
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3Future", "handler").count()).isEqualTo(1);
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3Future", "return-value").count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipPhasesThatDidNotRun() throws Exception {
+        mockMvc.perform(post("/request-body-json-v3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":"))
+                .andExpect(status().isBadRequest());
+
+        // 바디 변환에 실패했으므로 메서드 본문과 반환값 처리는 실행되지 않았다
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3", "argument-resolution").count()).isEqualTo(1);
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3", "handler").count()).isZero();
+        assertThat(phase("RequestBodyJsonController.requestBodyJsonV3", "return-value").count()).isZero();
+    }
+
+    private Timer phase(String handler, String phase) {
+        Timer timer = registry.find("hello.handler.phase")
+                .tag("handler", handler)
+                .tag("phase", phase)
+                .timer();
+        assertThat(timer).isNotNull();
+        return timer;
+    }
+}
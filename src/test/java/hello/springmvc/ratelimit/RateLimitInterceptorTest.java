@@ -0,0 +1,117 @@
+package hello.springmvc.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    private final HandlerMethod handler = handlerMethod();
+
+    @Test
+    void rejectWithRetryAfterSeconds() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("/orders", route(0.5, 1, 0, 1)); // 2초에 1개
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.1"), response, handler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(interceptor.getRateLimitedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectNewClientsWhenClientBucketsAreFull() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxClients(2);
+        properties.getRoutes().put("/orders", route(0, 1, 1, 2));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.2"), new MockHttpServletResponse(), handler)).isTrue();
+
+        // 두 클라이언트 모두 최근에 요청해서 정리할 버킷이 없다
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.3"), response, handler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        RouteRateLimiter routeLimiter = interceptor.getRouteLimiters().get("/orders");
+        assertThat(routeLimiter.getClientCount()).isEqualTo(2);
+        assertThat(routeLimiter.getRejectedNewClientCount()).isEqualTo(1);
+        // 이미 버킷이 있는 클라이언트는 계속 받는다
+        assertThat(interceptor.preHandle(request("/orders", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+    }
+
+    @Test
+    void concurrencyLimitPerRouteAndExcludedRoutes() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        concurrency.setEnabled(true);
+        concurrency.setInitialLimit(1);
+        concurrency.setMinLimit(1);
+        concurrency.setMaxLimit(1);
+        concurrency.setExcludedRoutes(List.of("/slow"));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+
+        MockHttpServletRequest first = request("/a", "10.0.0.1");
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler)).isTrue();
+
+        // 같은 경로는 한도(1)를 넘어서 503, 다른 경로는 따로 센다
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("/a", "10.0.0.1"), response, handler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(interceptor.preHandle(request("/b", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+
+        // 제외한 경로는 한도가 없다
+        for (int i = 0; i < 10; i++) {
+            assertThat(interceptor.preHandle(request("/slow", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+        }
+        assertThat(interceptor.getConcurrencyLimiters()).containsOnlyKeys("/a", "/b");
+
+        // 반납하면 다시 받는다
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+        assertThat(interceptor.preHandle(request("/a", "10.0.0.1"), new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.getShedCount()).isEqualTo(1);
+    }
+
+    private static RateLimitProperties.Route route(double rate, int burst, double clientRate, int clientBurst) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setRate(rate);
+        route.setBurst(burst);
+        route.setClientRate(clientRate);
+        route.setClientBurst(clientBurst);
+        return route;
+    }
+
+    private static MockHttpServletRequest request(String pattern, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setRemoteAddr(client);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private static HandlerMethod handlerMethod() {
+        try {
+            return new HandlerMethod(new Handler(), Handler.class.getMethod("handle"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Handler {
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springmvc.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100); // 초당 10개
+
+    @Test
+    void allowBurstThenReject() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 1_000_000_000L;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        // burst 를 다 쓰면 토큰 하나가 찰 때까지(interval) 기다려야 한다
+        assertThat(bucket.tryAcquire(now)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+    }
+
+    @Test
+    void refillOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = 0;
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isPositive();
+
+        now += INTERVAL;
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isPositive();
+
+        // 오래 쉬어도 burst 보다 많이 쌓이지 않는다
+        now += INTERVAL * 100;
+        assertThat(bucket.isIdle(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(INTERVAL);
+        assertThat(bucket.isIdle(now)).isFalse();
+    }
+
+    @Test
+    void rejectInvalidRateOrBurst() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}